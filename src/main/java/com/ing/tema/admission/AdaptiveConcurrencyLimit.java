@@ -0,0 +1,94 @@
+package com.ing.tema.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit tuned by additive-increase / multiplicative-decrease on observed latency:
+ * a request slower than the threshold (or failed with a server error) cuts the limit by the backoff ratio,
+ * and a fast request completing while at least half the limit is in use raises it by one.
+ * <p>
+ * The limit is cut at most once per overload episode: a request admitted before the last cut ran under the
+ * old limit, so its latency says nothing about the new one and is not counted again. Without this, one burst
+ * of slow requests would multiply the limit by the ratio once per request and drive it straight to the minimum.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger limit;
+    private final AtomicLong lastDecrease;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyThresholdNanos, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio,
+                             LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max limit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = new AtomicInteger(initialLimit);
+        this.lastDecrease = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * @return true if the request was admitted and {@link #release} must be called when it completes
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit.get()) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * @param startNanos {@link #nanoTime()} when the request was admitted
+     */
+    public void release(long startNanos, boolean failed) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        long now = nanoClock.getAsLong();
+        if (failed || now - startNanos > latencyThresholdNanos) {
+            long decreasedAt = lastDecrease.get();
+            if (startNanos - decreasedAt >= 0 && lastDecrease.compareAndSet(decreasedAt, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (inFlightAtCompletion * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ing.tema.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.dtos.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds API requests with 503 before authentication or any other work when their class is at its
+ * concurrency limit, and feeds each admitted request's latency back into that limit.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final AdmissionController admissionController;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionController admissionController, ObjectMapper objectMapper) {
+        this.admissionController = admissionController;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestClass requestClass = admissionController.classify(request);
+        if (requestClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimit limit = admissionController.limitFor(requestClass);
+        if (!limit.tryAcquire()) {
+            reject(request, response, requestClass);
+            return;
+        }
+
+        long start = limit.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limit.release(start, failed);
+        }
+    }
+
+    private void reject(HttpServletRequest request,
+                        HttpServletResponse response,
+                        RequestClass requestClass) throws IOException {
+        // counted in store.admission.rejected; a line per shed request would add to the overload
+        log.debug("Shedding {} request to {}: concurrency limit reached", requestClass, request.getRequestURI());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "Server is overloaded, please retry",
+                request.getRequestURI(),
+                "OVERLOADED"
+        );
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
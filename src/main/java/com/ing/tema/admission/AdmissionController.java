@@ -0,0 +1,73 @@
+package com.ing.tema.admission;
+
+import com.ing.tema.configuration.AdmissionControlProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One {@link AdaptiveConcurrencyLimit} per {@link RequestClass}, published as
+ * {@code store.admission.limit}, {@code store.admission.in-flight} and {@code store.admission.rejected}.
+ */
+public class AdmissionController {
+
+    private final Map<RequestClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(RequestClass.class);
+    private final List<String> excludedPaths;
+
+    public AdmissionController(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.excludedPaths = List.copyOf(properties.getExcludedPaths());
+        limits.put(RequestClass.READ, limitFor(properties.getRead()));
+        limits.put(RequestClass.WRITE, limitFor(properties.getWrite()));
+        limits.put(RequestClass.AUTH, limitFor(properties.getAuth()));
+
+        limits.forEach((requestClass, limit) -> {
+            String tag = requestClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("store.admission.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("store.admission.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .description("Requests currently admitted")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("store.admission.rejected", limit, AdaptiveConcurrencyLimit::rejected)
+                    .description("Requests shed with 503")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    private static AdaptiveConcurrencyLimit limitFor(AdmissionControlProperties.ClassLimit config) {
+        return new AdaptiveConcurrencyLimit(
+                config.getInitialLimit(),
+                config.getMinLimit(),
+                config.getMaxLimit(),
+                config.getLatencyThreshold().toNanos(),
+                config.getBackoffRatio()
+        );
+    }
+
+    /**
+     * The {@link RequestClass} of {@code request}, or null if it is never shed: outside {@code /api} or under
+     * one of {@code store.admission.excluded-paths}.
+     */
+    public RequestClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String excluded : excludedPaths) {
+            if (path.startsWith(excluded)) {
+                return null;
+            }
+        }
+        return RequestClass.of(request);
+    }
+
+    public AdaptiveConcurrencyLimit limitFor(RequestClass requestClass) {
+        return limits.get(requestClass);
+    }
+}
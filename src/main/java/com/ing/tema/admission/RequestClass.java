@@ -0,0 +1,30 @@
+package com.ing.tema.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Admission classes with independent concurrency limits, so cheap reads are not starved by
+ * BCrypt logins or transactional writes.
+ */
+public enum RequestClass {
+    READ,
+    WRITE,
+    AUTH;
+
+    /**
+     * The class of an API request, or null for requests outside {@code /api}, which are never shed.
+     */
+    public static RequestClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> READ;
+            default -> WRITE;
+        };
+    }
+}
@@ -0,0 +1,275 @@
+package com.ing.tema.audit;
+
+import com.ing.tema.configuration.AuditLogProperties;
+import com.ing.tema.configuration.AuditLogProperties.OverflowPolicy;
+import com.ing.tema.dtos.AuditLogEntry;
+import com.ing.tema.events.AuditedActionEvent;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Durable audit trail of product mutations, logins and catalog import control actions.
+ * <p>
+ * Committed changes are offered into a lock-free ring buffer, which costs the committing request one CAS,
+ * and a single writer thread drains it into {@code audit_log} with JDBC batch inserts. When the buffer is
+ * full the default {@code store.audit.overflow-policy=WRITE_THROUGH} makes the request insert its own record
+ * in a new transaction, so a writer that cannot keep up slows the producers down instead of losing their
+ * trail; {@code BLOCK} waits up to {@code block-timeout} for a slot and {@code DROP} gives up at once.
+ * Records lost that way or to batches that keep failing after {@code max-write-attempts} are counted in
+ * {@code store.audit.dropped}, and overflows in {@code store.audit.overflowed}; a full buffer is only logged
+ * once every ten seconds, since it fills under exactly the load where a log line per record would hurt most.
+ */
+@Service
+public class AuditLog implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    static final String IMPORT_CHUNK_ACTION = "IMPORT_CHUNK";
+
+    private final AuditLogProperties properties;
+    private final AuditLogRepository repository;
+    private final TransactionTemplate writeThrough;
+    private final MpscRingBuffer<AuditRecord> buffer;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final AtomicLong lastDropWarning = new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL_NANOS);
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditLog(AuditLogProperties properties,
+                    AuditLogRepository repository,
+                    PlatformTransactionManager transactionManager,
+                    MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        // called from AFTER_COMMIT listeners, where the finished transaction's resources are still bound
+        this.writeThrough = new TransactionTemplate(transactionManager);
+        this.writeThrough.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new MpscRingBuffer<>(properties.getBufferSize());
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.blockTimeoutNanos = properties.getBlockTimeout().toNanos();
+
+        FunctionCounter.builder("store.audit.written", written, LongAdder::sum)
+                .description("Audit records written to audit_log")
+                .register(meterRegistry);
+        FunctionCounter.builder("store.audit.dropped", dropped, LongAdder::sum)
+                .description("Audit records lost to a full buffer or failed writes")
+                .register(meterRegistry);
+        FunctionCounter.builder("store.audit.overflowed", overflowed, LongAdder::sum)
+                .description("Audit records that found the buffer full")
+                .register(meterRegistry);
+        Gauge.builder("store.audit.pending", buffer, MpscRingBuffer::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductChangedEvent.Actor actor = event.actor();
+        record(new AuditRecord(
+                event.occurredAt(),
+                actor == null ? null : actor.principal(),
+                actor == null ? null : actor.httpMethod(),
+                actor == null ? null : actor.path(),
+                event.type().name(),
+                event.productId(),
+                event.sku(),
+                event.before(),
+                event.after(),
+                actor == null ? null : actor.idempotencyKey()
+        ));
+    }
+
+    /**
+     * One record per imported chunk rather than per row: the import itself is tracked in {@code catalog_imports},
+     * and a large upload would otherwise fill the buffer in a single burst.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        ProductChangedEvent.Actor actor = event.actor();
+        record(new AuditRecord(
+                event.occurredAt(),
+                actor == null ? null : actor.principal(),
+                actor == null ? null : actor.httpMethod(),
+                actor == null ? null : actor.path(),
+                IMPORT_CHUNK_ACTION,
+                null,
+                null,
+                null,
+                null,
+                actor == null ? null : actor.idempotencyKey()
+        ));
+    }
+
+    @EventListener
+    public void onAuditedAction(AuditedActionEvent event) {
+        ProductChangedEvent.Actor actor = event.actor();
+        record(new AuditRecord(
+                event.occurredAt(),
+                actor.principal(),
+                actor.httpMethod(),
+                actor.path(),
+                event.action().name(),
+                null,
+                null,
+                null,
+                null,
+                actor.idempotencyKey()
+        ));
+    }
+
+    public List<AuditLogEntry> find(String principal, Instant from, Instant to, int limit) {
+        return repository.find(principal, from, to, limit);
+    }
+
+    void record(AuditRecord record) {
+        if (buffer.offer(record)) {
+            return;
+        }
+        overflowed.increment();
+        switch (properties.getOverflowPolicy()) {
+            case WRITE_THROUGH -> {
+                warnOverflow("writing records on the request thread");
+                writeNow(record);
+            }
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                    if (buffer.offer(record)) {
+                        return;
+                    }
+                }
+                dropped.increment();
+                warnOverflow("dropping records");
+            }
+            case DROP -> {
+                dropped.increment();
+                warnOverflow("dropping records");
+            }
+        }
+    }
+
+    private void writeNow(AuditRecord record) {
+        try {
+            writeThrough.executeWithoutResult(status -> repository.insertBatch(List.of(record)));
+            written.increment();
+        } catch (RuntimeException ex) {
+            dropped.increment();
+            log.error("Dropped audit record {} of {}: {}", record.action(), record.principal(), ex.getMessage());
+        }
+    }
+
+    private void warnOverflow(String consequence) {
+        long now = System.nanoTime();
+        long lastWarning = lastDropWarning.get();
+        if (now - lastWarning >= DROP_WARNING_INTERVAL_NANOS && lastDropWarning.compareAndSet(lastWarning, now)) {
+            log.warn("Audit buffer full, {} ({} overflowed and {} dropped since startup, see store.audit.overflowed)",
+                    consequence, overflowed.sum(), dropped.sum());
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditRecord> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || buffer.size() > 0) {
+            buffer.drainTo(batch, properties.getBatchSize());
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditRecord> batch) {
+        for (int attempt = 1; attempt <= properties.getMaxWriteAttempts(); attempt++) {
+            try {
+                repository.insertBatch(batch);
+                written.add(batch.size());
+                return;
+            } catch (RuntimeException ex) {
+                // anything escaping here would end the writer thread and silently stop the audit trail
+                log.warn("Audit batch of {} failed (attempt {}/{}): {}",
+                        batch.size(), attempt, properties.getMaxWriteAttempts(), ex.getMessage());
+                if (attempt < properties.getMaxWriteAttempts()) {
+                    LockSupport.parkNanos(RETRY_BACKOFF_NANOS);
+                }
+            }
+        }
+        dropped.add(batch.size());
+        log.error("Dropped {} audit records after {} failed attempts", batch.size(), properties.getMaxWriteAttempts());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon(true).start(this::drainLoop);
+    }
+
+    /**
+     * Wakes the writer and lets it flush what is buffered before the data source is closed.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.size() > 0) {
+            log.warn("Audit writer stopped with {} records unwritten", buffer.size());
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    long writtenCount() {
+        return written.sum();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    long overflowedCount() {
+        return overflowed.sum();
+    }
+}
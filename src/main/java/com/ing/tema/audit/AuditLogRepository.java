@@ -0,0 +1,112 @@
+package com.ing.tema.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.dtos.AuditLogEntry;
+import com.ing.tema.dtos.ProductResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC access to {@code audit_log}: rows are append-only and written in batches, so there is no entity.
+ */
+@Repository
+public class AuditLogRepository {
+
+    private static final String INSERT = """
+            insert into audit_log
+                (occurred_at, principal, http_method, path, action, product_id, sku, before_state, after_state, idempotency_key)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT = """
+            select id, occurred_at, principal, http_method, path, action, product_id, sku, before_state, after_state, idempotency_key
+            from audit_log
+            """;
+
+    private static final RowMapper<AuditLogEntry> ROW_MAPPER = (rs, rowNum) -> new AuditLogEntry(
+            rs.getLong("id"),
+            rs.getTimestamp("occurred_at").toInstant(),
+            rs.getString("principal"),
+            rs.getString("http_method"),
+            rs.getString("path"),
+            rs.getString("action"),
+            rs.getObject("product_id", Long.class),
+            rs.getString("sku"),
+            rs.getString("before_state"),
+            rs.getString("after_state"),
+            rs.getString("idempotency_key")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    void insertBatch(List<AuditRecord> records) {
+        List<Object[]> rows = new ArrayList<>(records.size());
+        for (AuditRecord record : records) {
+            rows.add(new Object[]{
+                    Timestamp.from(record.occurredAt()),
+                    record.principal(),
+                    record.httpMethod(),
+                    record.path(),
+                    record.action(),
+                    record.productId(),
+                    record.sku(),
+                    toJson(record.before()),
+                    toJson(record.after()),
+                    record.idempotencyKey()
+            });
+        }
+        int[] types = {
+                Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR
+        };
+        jdbcTemplate.batchUpdate(INSERT, rows, types);
+    }
+
+    /**
+     * Newest first. Every filter is optional; {@code from} is inclusive and {@code to} exclusive.
+     */
+    public List<AuditLogEntry> find(String principal, Instant from, Instant to, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT).append("where 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (principal != null) {
+            sql.append(" and principal = ?");
+            args.add(principal);
+        }
+        if (from != null) {
+            sql.append(" and occurred_at >= ?");
+            args.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" and occurred_at < ?");
+            args.add(Timestamp.from(to));
+        }
+        sql.append(" order by occurred_at desc, id desc limit ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    private String toJson(ProductResponse state) {
+        if (state == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize audit state", ex);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ing.tema.audit;
+
+import com.ing.tema.dtos.ProductResponse;
+
+import java.time.Instant;
+
+/**
+ * One buffered audit entry; product states are serialized by the writer thread, not the request thread.
+ */
+record AuditRecord(
+        Instant occurredAt,
+        String principal,
+        String httpMethod,
+        String path,
+        String action,
+        Long productId,
+        String sku,
+        ProductResponse before,
+        ProductResponse after,
+        String idempotencyKey
+) {
+}
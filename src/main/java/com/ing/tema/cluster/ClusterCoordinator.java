@@ -0,0 +1,242 @@
+package com.ing.tema.cluster;
+
+import com.ing.tema.configuration.ClusterProperties;
+import com.ing.tema.entities.Product;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductBatchChangedEvent;
+import com.ing.tema.events.RemoteProductChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps node-local caches coherent across instances.
+ * <p>
+ * Every committed product change is broadcast through the {@link ClusterTransport}. A node receiving
+ * another node's change evicts the product from Hibernate's second-level and query caches and
+ * republishes it as a {@link RemoteProductChangedEvent}, which the response cache, off-heap store,
+ * price statistics, catalog snapshot and price stream apply exactly as they apply local changes.
+ * An imported chunk travels as its product ids only, a few hundred per message, and is republished
+ * as a {@link RemoteProductBatchChangedEvent} that receivers treat as an eviction.
+ * Reads never wait on the cluster; a node only hears about changes shortly after they commit.
+ * <p>
+ * Committing threads only put messages on a bounded queue. A single publisher thread drains it and hands
+ * the transport up to a hundred messages per call, so a burst of writes costs the transport a few batch
+ * inserts rather than a transaction per change, and none of it on the request thread. A full queue drops
+ * the message and counts it in {@code store.cluster.dropped}; the other nodes' copies then expire with
+ * their cache TTLs, as when the transport itself fails.
+ * <p>
+ * Only products are covered. Users are seeded by the changelog and nothing in the application changes
+ * them, so their second-level cache regions can only go stale through an edit made directly in the
+ * database, which the other nodes pick up when the {@code users} regions expire (five minutes).
+ * Idempotency keys need no broadcast: they are only ever checked against the shared
+ * {@code idempotency_keys} table, whose unique constraint is the cluster-wide arbiter.
+ */
+@Service
+public class ClusterCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCoordinator.class);
+    // keeps a batch message well inside the 8192-character payload column
+    static final int MAX_IDS_PER_MESSAGE = 300;
+    private static final int MAX_MESSAGES_PER_PUBLISH = 100;
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ClusterTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String nodeId;
+    private final BlockingQueue<ClusterMessage> outbox;
+    private final Executor publishExecutor;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong lastDropWarning = new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL_NANOS);
+
+    @Autowired
+    public ClusterCoordinator(ClusterTransport transport,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityManagerFactory entityManagerFactory,
+                              ClusterProperties properties,
+                              MeterRegistry meterRegistry) {
+        this(transport, eventPublisher, entityManagerFactory, properties, meterRegistry,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("cluster-publisher").daemon(true).factory()));
+    }
+
+    ClusterCoordinator(ClusterTransport transport,
+                       ApplicationEventPublisher eventPublisher,
+                       EntityManagerFactory entityManagerFactory,
+                       ClusterProperties properties,
+                       MeterRegistry meterRegistry,
+                       Executor publishExecutor) {
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.nodeId = properties.getNodeId();
+        this.outbox = new ArrayBlockingQueue<>(properties.getPublishQueueSize());
+        this.publishExecutor = publishExecutor;
+
+        FunctionCounter.builder("store.cluster.messages", sent, LongAdder::sum)
+                .tag("direction", "sent")
+                .description("Cache invalidations broadcast to other nodes")
+                .register(meterRegistry);
+        FunctionCounter.builder("store.cluster.messages", received, LongAdder::sum)
+                .tag("direction", "received")
+                .description("Cache invalidations applied from other nodes")
+                .register(meterRegistry);
+        FunctionCounter.builder("store.cluster.dropped", dropped, LongAdder::sum)
+                .description("Cache invalidations not broadcast because the publish queue was full")
+                .register(meterRegistry);
+        Gauge.builder("store.cluster.pending", outbox, BlockingQueue::size)
+                .description("Cache invalidations waiting to be broadcast")
+                .register(meterRegistry);
+
+        transport.subscribe(this::onMessage);
+        log.info("Cluster coordination started, nodeId={}", nodeId);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        enqueue(ClusterMessage.productChanged(nodeId, event));
+        scheduleFlush();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        List<Long> ids = event.productIds();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_MESSAGE) {
+            List<Long> part = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_MESSAGE));
+            enqueue(ClusterMessage.productsChanged(nodeId, List.copyOf(part), event.occurredAt()));
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Sends what is still queued, so changes committed during shutdown reach the other nodes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (publishExecutor instanceof ExecutorService executor) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void enqueue(ClusterMessage message) {
+        if (outbox.offer(message)) {
+            return;
+        }
+        dropped.increment();
+        long now = System.nanoTime();
+        long lastWarning = lastDropWarning.get();
+        if (now - lastWarning >= DROP_WARNING_INTERVAL_NANOS && lastDropWarning.compareAndSet(lastWarning, now)) {
+            log.warn("Cluster publish queue full, dropping invalidations ({} dropped since startup, see store.cluster.dropped)",
+                    dropped.sum());
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            publishExecutor.execute(this::flush);
+        } catch (RejectedExecutionException ex) {
+            // shutting down; shutdown() sends what is left
+            flushScheduled.set(false);
+        }
+    }
+
+    private void flush() {
+        // cleared before draining, so a message queued after the last drain schedules the next flush
+        flushScheduled.set(false);
+        List<ClusterMessage> batch = new ArrayList<>(MAX_MESSAGES_PER_PUBLISH);
+        while (outbox.drainTo(batch, MAX_MESSAGES_PER_PUBLISH) > 0) {
+            try {
+                transport.publishAll(batch);
+                sent.add(batch.size());
+            } catch (RuntimeException ex) {
+                // anything escaping here would leave the rest of the queue until the next change
+                log.warn("Could not broadcast {} invalidations: {}", batch.size(), ex.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    void onMessage(ClusterMessage message) {
+        if (nodeId.equals(message.originNode())) {
+            return;
+        }
+        received.increment();
+
+        switch (message.kind()) {
+            case PRODUCT -> {
+                evictProducts(Collections.singletonList(message.productId()));
+                eventPublisher.publishEvent(new RemoteProductChangedEvent(message.toProductChangedEvent(), message.originNode()));
+            }
+            case PRODUCTS -> {
+                evictProducts(message.productIds());
+                eventPublisher.publishEvent(new RemoteProductBatchChangedEvent(message.productIds(), message.originNode()));
+            }
+        }
+        log.debug("Applied {} invalidation from node {}", message.kind(), message.originNode());
+    }
+
+    private void evictProducts(List<Long> ids) {
+        Cache cache = hibernateCache();
+        for (Long id : ids) {
+            if (id != null) {
+                cache.evictEntityData(Product.class, id);
+            }
+        }
+        cache.evictNaturalIdData(Product.class);
+        cache.evictDefaultQueryRegion();
+    }
+
+    private Cache hibernateCache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    long sentCount() {
+        return sent.sum();
+    }
+
+    long receivedCount() {
+        return received.sum();
+    }
+}
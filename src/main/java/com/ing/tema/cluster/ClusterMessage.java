@@ -0,0 +1,43 @@
+package com.ing.tema.cluster;
+
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.ProductChangedEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Invalidation broadcast between nodes. Product messages carry the committed change without its
+ * actor, so receivers can update their caches in place; batch messages only carry the ids of an
+ * imported chunk.
+ */
+public record ClusterMessage(
+        String originNode,
+        Kind kind,
+        ProductChangedEvent.ChangeType changeType,
+        Long productId,
+        String sku,
+        ProductResponse before,
+        ProductResponse after,
+        Instant occurredAt,
+        List<Long> productIds
+) {
+
+    public enum Kind {
+        PRODUCT,
+        PRODUCTS
+    }
+
+    public static ClusterMessage productChanged(String originNode, ProductChangedEvent event) {
+        return new ClusterMessage(originNode, Kind.PRODUCT, event.type(), event.productId(), event.sku(),
+                event.before(), event.after(), event.occurredAt(), null);
+    }
+
+    public static ClusterMessage productsChanged(String originNode, List<Long> productIds, Instant occurredAt) {
+        return new ClusterMessage(originNode, Kind.PRODUCTS, null, null, null, null, null, occurredAt, productIds);
+    }
+
+    public ProductChangedEvent toProductChangedEvent() {
+        return new ProductChangedEvent(changeType, productId, sku, before, after, occurredAt, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ing.tema.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Delivers {@link ClusterMessage}s to every node, including the sender. Delivery is at-least-once
+ * and unordered across senders; messages are invalidations, so replays are harmless.
+ */
+public interface ClusterTransport {
+
+    void publish(ClusterMessage message);
+
+    /**
+     * Publishes several messages at once; transports that can should do it in one round trip.
+     */
+    default void publishAll(List<ClusterMessage> messages) {
+        messages.forEach(this::publish);
+    }
+
+    void subscribe(Consumer<ClusterMessage> listener);
+}
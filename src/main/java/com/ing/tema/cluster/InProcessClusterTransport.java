@@ -0,0 +1,40 @@
+package com.ing.tema.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM stand-in for a message broker. Transports created on the same {@link Network} see each
+ * other's messages, so tests can run several coordinators side by side; a single node gets its own
+ * network and only ever hears itself.
+ */
+public class InProcessClusterTransport implements ClusterTransport {
+
+    private final Network network;
+
+    public InProcessClusterTransport(Network network) {
+        this.network = network;
+    }
+
+    public static final class Network {
+
+        private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+
+        private void deliver(ClusterMessage message) {
+            for (Consumer<ClusterMessage> listener : listeners) {
+                listener.accept(message);
+            }
+        }
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        network.deliver(message);
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        network.listeners.add(listener);
+    }
+}
@@ -0,0 +1,172 @@
+package com.ing.tema.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.ClusterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broadcast over the shared database: {@link #publish} appends to {@code cluster_messages} and every
+ * node polls for rows above the last id it has seen.
+ * <p>
+ * Ids are handed out before commit, so a poll can see id 12 while 11 is still in flight. Ids above
+ * a gap are remembered and the poll keeps reading from the gap until it fills or has been open for
+ * {@code store.cluster.gap-timeout}, after which it is treated as a rolled-back insert.
+ * <p>
+ * {@link ClusterCoordinator} publishes from its own thread, a batch of messages per call, which
+ * {@link #publishAll} inserts as one JDBC batch. The insert still runs in a transaction of its own, so
+ * a caller inside an {@code AFTER_COMMIT} listener, where the finished transaction's connection is
+ * still bound to the thread and nothing commits it again, is safe too.
+ */
+public class JdbcClusterTransport implements ClusterTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcClusterTransport.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate publishTransaction;
+    private final ObjectMapper objectMapper;
+    private final long gapTimeoutMillis;
+    private final Duration retention;
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Object pollLock = new Object();
+    private long floor = -1;
+    private final TreeSet<Long> deliveredAboveFloor = new TreeSet<>();
+    private long gapOpenedAt;
+
+    public JdbcClusterTransport(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                ClusterProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.publishTransaction = new TransactionTemplate(transactionManager);
+        this.publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.gapTimeoutMillis = properties.getGapTimeout().toMillis();
+        this.retention = properties.getRetention();
+    }
+
+    private record Row(long id, String payload) {
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        publishAll(List.of(message));
+    }
+
+    @Override
+    public void publishAll(List<ClusterMessage> messages) {
+        try {
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object[]> rows = new ArrayList<>(messages.size());
+            for (ClusterMessage message : messages) {
+                rows.add(new Object[]{message.originNode(), objectMapper.writeValueAsString(message), now});
+            }
+            publishTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "insert into cluster_messages (origin_node, payload, created_at) values (?, ?, ?)", rows));
+        } catch (JsonProcessingException | DataAccessException | TransactionException ex) {
+            // the other nodes' entries expire with their cache TTLs
+            log.warn("Could not broadcast {} invalidations: {}", messages.size(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${store.cluster.poll-interval:1s}")
+    public void poll() {
+        synchronized (pollLock) {
+            if (floor < 0) {
+                Long max = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from cluster_messages", Long.class);
+                floor = max == null ? 0 : max;
+                return;
+            }
+
+            List<Row> rows = jdbcTemplate.query(
+                    "select id, payload from cluster_messages where id > ? order by id",
+                    (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("payload")),
+                    floor
+            );
+            for (Row row : rows) {
+                if (deliveredAboveFloor.add(row.id())) {
+                    deliver(row);
+                }
+            }
+            advanceFloor();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${store.cluster.retention:10m}")
+    public void purge() {
+        int removed = jdbcTemplate.update("delete from cluster_messages where created_at < ?",
+                Timestamp.from(Instant.now().minus(retention)));
+        if (removed > 0) {
+            log.debug("Purged {} cluster messages", removed);
+        }
+    }
+
+    /**
+     * The highest id below which every message has been delivered or given up on.
+     */
+    long floor() {
+        synchronized (pollLock) {
+            return floor;
+        }
+    }
+
+    private void deliver(Row row) {
+        ClusterMessage message;
+        try {
+            message = objectMapper.readValue(row.payload(), ClusterMessage.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Skipping unreadable cluster message {}: {}", row.id(), ex.getMessage());
+            return;
+        }
+        for (Consumer<ClusterMessage> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException ex) {
+                log.warn("Cluster message {} listener failed: {}", row.id(), ex.getMessage());
+            }
+        }
+    }
+
+    private void advanceFloor() {
+        while (!deliveredAboveFloor.isEmpty() && deliveredAboveFloor.first() == floor + 1) {
+            floor = deliveredAboveFloor.pollFirst();
+        }
+        if (deliveredAboveFloor.isEmpty()) {
+            gapOpenedAt = 0;
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (gapOpenedAt == 0) {
+            gapOpenedAt = now;
+        } else if (now - gapOpenedAt >= gapTimeoutMillis) {
+            log.debug("Giving up on cluster message ids {}..{}", floor + 1, deliveredAboveFloor.first() - 1);
+            floor = deliveredAboveFloor.first() - 1;
+            gapOpenedAt = 0;
+            advanceFloor();
+        }
+    }
+}
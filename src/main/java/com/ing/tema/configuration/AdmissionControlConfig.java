@@ -0,0 +1,36 @@
+package com.ing.tema.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.admission.AdmissionControlFilter;
+import com.ing.tema.admission.AdmissionController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(prefix = "store.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionController admissionController(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        return new AdmissionController(properties, meterRegistry);
+    }
+
+    /**
+     * Registered ahead of the Spring Security chain so shed requests never reach JWT decoding or BCrypt.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionController admissionController,
+                                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionController, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "store.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+    private ClassLimit read = new ClassLimit(200, 20, 1000, Duration.ofMillis(100));
+    private ClassLimit write = new ClassLimit(50, 5, 200, Duration.ofMillis(250));
+    private ClassLimit auth = new ClassLimit(16, 2, 64, Duration.ofMillis(500));
+
+    /**
+     * Path prefixes that are never shed. Catalog imports run for minutes and would read as overload to the
+     * latency-driven limits.
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/products/import"));
+
+    public static class ClassLimit {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        /**
+         * Requests slower than this shrink the limit.
+         */
+        private Duration latencyThreshold;
+
+        private double backoffRatio = 0.9;
+
+        public ClassLimit() {
+        }
+
+        public ClassLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public ClassLimit getRead() {
+        return read;
+    }
+
+    public void setRead(ClassLimit read) {
+        this.read = read;
+    }
+
+    public ClassLimit getWrite() {
+        return write;
+    }
+
+    public void setWrite(ClassLimit write) {
+        this.write = write;
+    }
+
+    public List<String> getExcludedPaths() {
+        return excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+
+    public ClassLimit getAuth() {
+        return auth;
+    }
+
+    public void setAuth(ClassLimit auth) {
+        this.auth = auth;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.audit")
+public class AuditLogProperties {
+
+    /**
+     * Ring buffer slots; rounded up to a power of two.
+     */
+    private int bufferSize = 8192;
+
+    private int batchSize = 200;
+
+    /**
+     * How long the writer sleeps when the buffer is empty.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.WRITE_THROUGH;
+
+    /**
+     * With {@link OverflowPolicy#BLOCK}, how long a committing request may wait for a free slot before the record is dropped.
+     */
+    private Duration blockTimeout = Duration.ofMillis(50);
+
+    /**
+     * Attempts per batch before its records are counted as lost.
+     */
+    private int maxWriteAttempts = 3;
+
+    public enum OverflowPolicy {
+        /**
+         * Make the committing request insert its own record in a new transaction.
+         */
+        WRITE_THROUGH,
+        /**
+         * Drop the new record and count it.
+         */
+        DROP,
+        /**
+         * Make the committing request wait up to {@code block-timeout} for the writer to catch up.
+         */
+        BLOCK
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    public void setBlockTimeout(Duration blockTimeout) {
+        this.blockTimeout = blockTimeout;
+    }
+
+    public int getMaxWriteAttempts() {
+        return maxWriteAttempts;
+    }
+
+    public void setMaxWriteAttempts(int maxWriteAttempts) {
+        this.maxWriteAttempts = maxWriteAttempts;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CatalogExportProperties.class)
+public class CatalogExportConfig {
+}
@@ -0,0 +1,47 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "store.catalog-export")
+public class CatalogExportProperties {
+
+    /**
+     * Rows the driver pulls per round trip from the export cursor.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Bytes buffered before a write reaches the socket (or the gzip stream).
+     */
+    private DataSize bufferSize = DataSize.ofKilobytes(64);
+
+    /**
+     * Compress when the client sends {@code Accept-Encoding: gzip}.
+     */
+    private boolean gzip = true;
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public DataSize getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(DataSize bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.catalog-file")
+public class CatalogFileProperties {
+
+    private boolean enabled = false;
+    private Path path = Path.of(System.getProperty("java.io.tmpdir"), "tema", "catalog-snapshot.bin");
+    private Duration exportInterval = Duration.ofMinutes(5);
+
+    /**
+     * How far before the snapshot's watermark the startup catch-up re-reads. {@code updated_at} is
+     * stamped when a row is written, not when its transaction commits, so a transaction that was
+     * still open during the export can commit rows older than the watermark; this must be at least
+     * the longest expected transaction plus any clock skew between nodes.
+     */
+    private Duration catchUpMargin = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
+
+    public Duration getExportInterval() {
+        return exportInterval;
+    }
+
+    public void setExportInterval(Duration exportInterval) {
+        this.exportInterval = exportInterval;
+    }
+
+    public Duration getCatchUpMargin() {
+        return catchUpMargin;
+    }
+
+    public void setCatchUpMargin(Duration catchUpMargin) {
+        this.catchUpMargin = catchUpMargin;
+    }
+}
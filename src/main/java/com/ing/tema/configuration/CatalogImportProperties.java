@@ -0,0 +1,48 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.catalog-import")
+public class CatalogImportProperties {
+
+    /**
+     * Rows upserted per transaction; also the most an interrupted import has to redo.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Rejected rows described in a response; the rest are only counted.
+     */
+    private int maxReportedErrors = 100;
+
+    /**
+     * A running import with no committed chunk for this long is assumed dead and may be resumed.
+     */
+    private Duration staleAfter = Duration.ofMinutes(5);
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public Duration getStaleAfter() {
+        return staleAfter;
+    }
+
+    public void setStaleAfter(Duration staleAfter) {
+        this.staleAfter = staleAfter;
+    }
+}
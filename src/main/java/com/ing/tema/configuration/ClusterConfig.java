@@ -0,0 +1,29 @@
+package com.ing.tema.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.cluster.ClusterTransport;
+import com.ing.tema.cluster.InProcessClusterTransport;
+import com.ing.tema.cluster.JdbcClusterTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ClusterTransport clusterTransport(ClusterProperties properties,
+                                             JdbcTemplate jdbcTemplate,
+                                             PlatformTransactionManager transactionManager,
+                                             ObjectMapper objectMapper) {
+        return switch (properties.getTransport()) {
+            case IN_PROCESS -> new InProcessClusterTransport(new InProcessClusterTransport.Network());
+            case JDBC -> new JdbcClusterTransport(jdbcTemplate, transactionManager, objectMapper, properties);
+        };
+    }
+}
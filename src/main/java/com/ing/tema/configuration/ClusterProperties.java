@@ -0,0 +1,96 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "store.cluster")
+public class ClusterProperties {
+
+    private Transport transport = Transport.IN_PROCESS;
+
+    /**
+     * Identifies this instance in broadcasts; defaults to a random id per start.
+     */
+    private String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * How often the JDBC transport checks for new messages.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * How long the JDBC transport waits for a missing message id before skipping it.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How long messages stay in {@code cluster_messages}.
+     */
+    private Duration retention = Duration.ofMinutes(10);
+
+    /**
+     * Outgoing messages waiting for the publisher thread; beyond this they are dropped and counted.
+     */
+    private int publishQueueSize = 10_000;
+
+    public enum Transport {
+        /**
+         * Single node: messages never leave the JVM.
+         */
+        IN_PROCESS,
+        /**
+         * Nodes sharing a database exchange messages through {@code cluster_messages}.
+         */
+        JDBC
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public int getPublishQueueSize() {
+        return publishQueueSize;
+    }
+
+    public void setPublishQueueSize(int publishQueueSize) {
+        this.publishQueueSize = publishQueueSize;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ing.tema.configuration;
+
+import com.ing.tema.datasource.FingerprintedLiquibase;
+import liquibase.UpdateSummaryEnum;
+import liquibase.UpdateSummaryOutputEnum;
+import liquibase.integration.spring.SpringLiquibase;
+import liquibase.ui.UIServiceEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Startup shortcuts for the {@code fast-start} profile: non-critical beans such as the OpenAPI
+ * documentation are created on first use, and Liquibase is skipped when the changelog is unchanged.
+ */
+@Configuration
+@Profile(FastStartConfig.PROFILE)
+@EnableConfigurationProperties({FastStartProperties.class, LiquibaseProperties.class})
+public class FastStartConfig {
+
+    public static final String PROFILE = "fast-start";
+
+    private static final Logger log = LoggerFactory.getLogger(FastStartConfig.class);
+
+    /**
+     * Static and bound by hand: it runs before {@code @ConfigurationProperties} binding.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+                .bind("store.startup", FastStartProperties.class)
+                .map(FastStartProperties::getLazyBeanPrefixes)
+                .orElse(List.of());
+
+        return beanFactory -> {
+            int marked = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (!definition.isLazyInit() && matches(definition, prefixes)) {
+                    definition.setLazyInit(true);
+                    marked++;
+                }
+            }
+            log.debug("Marked {} beans for lazy initialization", marked);
+        };
+    }
+
+    private static boolean matches(BeanDefinition definition, List<String> prefixes) {
+        String beanClass = definition.getBeanClassName();
+        String declaringClass = null;
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            declaringClass = factoryMethod == null ? null : factoryMethod.getDeclaringClassName();
+        }
+        for (String prefix : prefixes) {
+            if ((beanClass != null && beanClass.startsWith(prefix))
+                    || (declaringClass != null && declaringClass.startsWith(prefix))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Configured from {@code spring.liquibase.*} exactly as Boot's own Liquibase bean would be, which
+     * backs off once this one exists.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "store.startup", name = "skip-unchanged-liquibase", havingValue = "true")
+    public SpringLiquibase liquibase(DataSource dataSource,
+                                     LiquibaseProperties liquibaseProperties,
+                                     FastStartProperties properties) {
+        FingerprintedLiquibase liquibase = new FingerprintedLiquibase(properties.getChangeLogPattern());
+        liquibase.setDataSource(liquibaseProperties.getUrl() == null ? dataSource : DataSourceBuilder.create()
+                .url(liquibaseProperties.getUrl())
+                .username(liquibaseProperties.getUser())
+                .password(liquibaseProperties.getPassword())
+                .driverClassName(liquibaseProperties.getDriverClassName())
+                .build());
+        liquibase.setChangeLog(liquibaseProperties.getChangeLog());
+        liquibase.setClearCheckSums(liquibaseProperties.isClearChecksums());
+        if (!CollectionUtils.isEmpty(liquibaseProperties.getContexts())) {
+            liquibase.setContexts(StringUtils.collectionToCommaDelimitedString(liquibaseProperties.getContexts()));
+        }
+        if (!CollectionUtils.isEmpty(liquibaseProperties.getLabelFilter())) {
+            liquibase.setLabelFilter(StringUtils.collectionToCommaDelimitedString(liquibaseProperties.getLabelFilter()));
+        }
+        liquibase.setDefaultSchema(liquibaseProperties.getDefaultSchema());
+        liquibase.setLiquibaseSchema(liquibaseProperties.getLiquibaseSchema());
+        liquibase.setLiquibaseTablespace(liquibaseProperties.getLiquibaseTablespace());
+        liquibase.setDatabaseChangeLogTable(liquibaseProperties.getDatabaseChangeLogTable());
+        liquibase.setDatabaseChangeLogLockTable(liquibaseProperties.getDatabaseChangeLogLockTable());
+        liquibase.setDropFirst(liquibaseProperties.isDropFirst());
+        liquibase.setShouldRun(liquibaseProperties.isEnabled());
+        liquibase.setChangeLogParameters(liquibaseProperties.getParameters());
+        liquibase.setRollbackFile(liquibaseProperties.getRollbackFile());
+        liquibase.setTestRollbackOnUpdate(liquibaseProperties.isTestRollbackOnUpdate());
+        liquibase.setTag(liquibaseProperties.getTag());
+        if (liquibaseProperties.getShowSummary() != null) {
+            liquibase.setShowSummary(UpdateSummaryEnum.valueOf(liquibaseProperties.getShowSummary().name()));
+        }
+        if (liquibaseProperties.getShowSummaryOutput() != null) {
+            liquibase.setShowSummaryOutput(UpdateSummaryOutputEnum.valueOf(liquibaseProperties.getShowSummaryOutput().name()));
+        }
+        if (liquibaseProperties.getUiService() != null) {
+            liquibase.setUiService(UIServiceEnum.valueOf(liquibaseProperties.getUiService().name()));
+        }
+        if (liquibaseProperties.getAnalyticsEnabled() != null) {
+            liquibase.setAnalyticsEnabled(liquibaseProperties.getAnalyticsEnabled());
+        }
+        if (liquibaseProperties.getLicenseKey() != null) {
+            liquibase.setLicenseKey(liquibaseProperties.getLicenseKey());
+        }
+        return liquibase;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "store.startup")
+public class FastStartProperties {
+
+    /**
+     * Bean classes, or the configuration classes declaring them, whose names start with one of these
+     * are only created on first use.
+     */
+    private List<String> lazyBeanPrefixes = new ArrayList<>();
+
+    /**
+     * Skip Liquibase when the changelog files hash to the fingerprint recorded by the last run.
+     */
+    private boolean skipUnchangedLiquibase = false;
+
+    /**
+     * Every changelog file that takes part in the fingerprint.
+     */
+    private String changeLogPattern = "classpath*:db/changelog/*.yaml";
+
+    public List<String> getLazyBeanPrefixes() {
+        return lazyBeanPrefixes;
+    }
+
+    public void setLazyBeanPrefixes(List<String> lazyBeanPrefixes) {
+        this.lazyBeanPrefixes = lazyBeanPrefixes;
+    }
+
+    public boolean isSkipUnchangedLiquibase() {
+        return skipUnchangedLiquibase;
+    }
+
+    public void setSkipUnchangedLiquibase(boolean skipUnchangedLiquibase) {
+        this.skipUnchangedLiquibase = skipUnchangedLiquibase;
+    }
+
+    public String getChangeLogPattern() {
+        return changeLogPattern;
+    }
+
+    public void setChangeLogPattern(String changeLogPattern) {
+        this.changeLogPattern = changeLogPattern;
+    }
+}
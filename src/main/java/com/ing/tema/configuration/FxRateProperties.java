@@ -0,0 +1,59 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "store.fx")
+public class FxRateProperties {
+
+    private String baseCurrency = "EUR";
+
+    /**
+     * Units of each currency per one unit of the base currency, used until a rates file or admin update replaces them.
+     */
+    private Map<String, BigDecimal> rates = new LinkedHashMap<>();
+
+    /**
+     * Optional properties file ({@code USD=1.08}, with an optional {@code base=EUR} entry) polled for changes.
+     */
+    private Path ratesFile;
+
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
+    public Map<String, BigDecimal> getRates() {
+        return rates;
+    }
+
+    public void setRates(Map<String, BigDecimal> rates) {
+        this.rates = rates;
+    }
+
+    public Path getRatesFile() {
+        return ratesFile;
+    }
+
+    public void setRatesFile(Path ratesFile) {
+        this.ratesFile = ratesFile;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+}
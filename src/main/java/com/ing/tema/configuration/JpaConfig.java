@@ -0,0 +1,62 @@
+package com.ing.tema.configuration;
+
+import com.ing.tema.repositories.NaturalIdRepositoryImpl;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.config.BootstrapMode;
+
+/**
+ * Declaring {@code @EnableJpaRepositories} makes Boot's repository auto-configuration back off, and
+ * with it the {@code spring.data.jpa.repositories.bootstrap-mode} property. The annotation only takes
+ * the mode as a constant, so each mode has its own variant selected by that property.
+ */
+@Configuration
+public class JpaConfig {
+
+    static final String BOOTSTRAP_MODE = "spring.data.jpa.repositories.bootstrap-mode";
+
+    @Configuration
+    @ConditionalOnProperty(name = BOOTSTRAP_MODE, havingValue = "default", matchIfMissing = true)
+    @EnableJpaRepositories(
+            basePackages = "com.ing.tema.repositories",
+            repositoryBaseClass = NaturalIdRepositoryImpl.class
+    )
+    static class DefaultBootstrap {
+    }
+
+    /**
+     * Repositories are initialised once the context has refreshed, and the entity manager factory is
+     * built on the application task executor meanwhile, as Boot does for this mode.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = BOOTSTRAP_MODE, havingValue = "deferred")
+    @EnableJpaRepositories(
+            basePackages = "com.ing.tema.repositories",
+            repositoryBaseClass = NaturalIdRepositoryImpl.class,
+            bootstrapMode = BootstrapMode.DEFERRED
+    )
+    static class DeferredBootstrap {
+
+        @Bean
+        public EntityManagerFactoryBuilderCustomizer backgroundEntityManagerFactoryBootstrap(
+                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor executor) {
+            return builder -> builder.setBootstrapExecutor(executor);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = BOOTSTRAP_MODE, havingValue = "lazy")
+    @EnableJpaRepositories(
+            basePackages = "com.ing.tema.repositories",
+            repositoryBaseClass = NaturalIdRepositoryImpl.class,
+            bootstrapMode = BootstrapMode.LAZY
+    )
+    static class LazyBootstrap {
+    }
+}
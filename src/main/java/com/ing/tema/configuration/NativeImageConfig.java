@@ -0,0 +1,42 @@
+package com.ing.tema.configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.ing.tema.cluster.ClusterMessage;
+import com.ing.tema.dtos.PriceChangeEvent;
+import com.ing.tema.dtos.ProductResponse;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability metadata for what the application itself does reflectively, for {@code mvn -Pnative}.
+ * <p>
+ * Entities, repositories, controller payloads and the logback configuration are covered by Spring's
+ * AOT processing, and Hibernate, Liquibase, H2 and Nimbus JOSE by the GraalVM reachability metadata
+ * repository. What neither can see is listed here: types Jackson binds outside a controller, the
+ * JCache provider and region factory loaded by name, and changelogs reached through includes.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+@RegisterReflectionForBinding({ClusterMessage.class, PriceChangeEvent.class, ProductResponse.class})
+public class NativeImageConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("db/changelog/*.yaml")
+                    // read by the Caffeine JCache provider when it creates a cache manager
+                    .registerPattern("reference.conf");
+
+            hints.reflection()
+                    .registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                    .registerType(JCacheRegionFactory.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
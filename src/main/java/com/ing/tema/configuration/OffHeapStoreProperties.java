@@ -0,0 +1,41 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "store.off-heap")
+public class OffHeapStoreProperties {
+
+    private boolean enabled = false;
+    private int maxProducts = 1_000_000;
+
+    /**
+     * Direct memory reserved for SKU, name and description bytes. Appended to on every change
+     * that touches a string field; reclaimed on restart.
+     */
+    private DataSize stringArenaSize = DataSize.ofMegabytes(256);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxProducts() {
+        return maxProducts;
+    }
+
+    public void setMaxProducts(int maxProducts) {
+        this.maxProducts = maxProducts;
+    }
+
+    public DataSize getStringArenaSize() {
+        return stringArenaSize;
+    }
+
+    public void setStringArenaSize(DataSize stringArenaSize) {
+        this.stringArenaSize = stringArenaSize;
+    }
+}
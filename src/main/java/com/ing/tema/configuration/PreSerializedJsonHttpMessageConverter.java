@@ -0,0 +1,126 @@
+package com.ing.tema.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.services.CatalogSnapshotService;
+import com.ing.tema.services.ProductResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@link ProductResponse} and {@code List<ProductResponse>} bodies as JSON, copying the
+ * bytes held by {@link ProductResponseCache} when the body is a cached instance and falling back
+ * to the application's {@link ObjectMapper} otherwise. A cached catalog is sent pre-compressed
+ * when the client accepts gzip. Write-only; requests are read by Jackson.
+ */
+public class PreSerializedJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final String GZIP = "gzip";
+
+    private final ProductResponseCache cache;
+    private final CatalogSnapshotService catalogSnapshot;
+    private final ObjectMapper objectMapper;
+
+    public PreSerializedJsonHttpMessageConverter(ProductResponseCache cache,
+                                                 CatalogSnapshotService catalogSnapshot,
+                                                 ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.cache = cache;
+        this.catalogSnapshot = catalogSnapshot;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProductResponse.class == clazz || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (type == null) {
+            return ProductResponse.class == clazz;
+        }
+
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (resolved.toClass() == ProductResponse.class) {
+            return true;
+        }
+        return List.class.isAssignableFrom(resolved.toClass())
+                && resolved.getGeneric(0).toClass() == ProductResponse.class;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        // Headers are only flushed on getBody(), so the encoding can still be decided here.
+        byte[] gzip = acceptsGzip() ? catalogSnapshot.gzipFor(body) : null;
+        if (gzip != null) {
+            outputMessage.getHeaders().set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            outputMessage.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            outputMessage.getBody().write(gzip);
+            return;
+        }
+
+        byte[] json = cache.jsonFor(body);
+        if (json == null) {
+            json = objectMapper.writeValueAsBytes(body);
+        }
+        outputMessage.getBody().write(json);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    private static boolean acceptsGzip() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "store.price-statistics")
+public class PriceStatisticsProperties {
+
+    /**
+     * Upper bounds (exclusive, in major units) of the histogram bands; a final open band follows the last edge.
+     */
+    private List<BigDecimal> bandEdges = new ArrayList<>(List.of(
+            new BigDecimal("1"),
+            new BigDecimal("5"),
+            new BigDecimal("10"),
+            new BigDecimal("50"),
+            new BigDecimal("100"),
+            new BigDecimal("500")
+    ));
+
+    public List<BigDecimal> getBandEdges() {
+        return bandEdges;
+    }
+
+    public void setBandEdges(List<BigDecimal> bandEdges) {
+        this.bandEdges = bandEdges;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "store.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Buckets that have been full for this long are dropped.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Endpoint groups, checked in order; a request is limited by the first group it matches.
+     */
+    private List<Group> groups = new ArrayList<>();
+
+    public enum KeyType {
+        /**
+         * The authenticated principal, or the client IP for anonymous requests.
+         */
+        PRINCIPAL,
+        IP
+    }
+
+    public static class Group {
+
+        private String name;
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * HTTP methods this group applies to; empty means all.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        private KeyType key = KeyType.PRINCIPAL;
+        private int capacity = 100;
+        private int refillTokens = 100;
+        private Duration refillPeriod = Duration.ofSeconds(1);
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public KeyType getKey() {
+            return key;
+        }
+
+        public void setKey(KeyType key) {
+            this.key = key;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillTokens() {
+            return refillTokens;
+        }
+
+        public void setRefillTokens(int refillTokens) {
+            this.refillTokens = refillTokens;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<Group> groups) {
+        this.groups = groups;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ing.tema.configuration;
+
+import com.ing.tema.datasource.ReplicaLagMonitor;
+import com.ing.tema.datasource.ReplicaNode;
+import com.ing.tema.datasource.ReplicaReadAfterWrite;
+import com.ing.tema.datasource.ReplicaRoutingDataSource;
+import com.ing.tema.services.ProductResponseCache;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "store.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    private final ReplicaRoutingProperties properties;
+
+    public ReplicaRoutingConfig(ReplicaRoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ResourceLoader resourceLoader,
+                                                             @Value("${spring.liquibase.change-log}") String changeLog)
+            throws LiquibaseException {
+        List<ReplicaNode> replicas = new ArrayList<>();
+
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            ReplicaRoutingProperties.Replica node = properties.getNodes().get(i);
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(node.getUrl());
+            dataSource.setUsername(node.getUsername());
+            dataSource.setPassword(node.getPassword());
+            dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+
+            if (node.isInitializeSchema()) {
+                SpringLiquibase liquibase = new SpringLiquibase();
+                liquibase.setDataSource(dataSource);
+                liquibase.setChangeLog(changeLog);
+                liquibase.setResourceLoader(resourceLoader);
+                liquibase.afterPropertiesSet();
+            }
+
+            replicas.add(new ReplicaNode(dataSource.getPoolName(), dataSource));
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getBalancing(),
+                properties.getPrimaryAfterWrite());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaReadAfterWrite replicaReadAfterWrite(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                       ProductResponseCache productResponseCache,
+                                                       EntityManagerFactory entityManagerFactory,
+                                                       TaskScheduler taskScheduler) {
+        return new ReplicaReadAfterWrite(replicaRoutingDataSource, productResponseCache, entityManagerFactory,
+                taskScheduler, properties.getPrimaryAfterWrite());
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaLagMonitor(
+                replicaRoutingDataSource.getReplicas(),
+                properties.getMaxLag(),
+                properties.getLagQuery()
+        );
+    }
+}
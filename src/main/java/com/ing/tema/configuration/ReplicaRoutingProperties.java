@@ -0,0 +1,147 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "store.datasource.replicas")
+public class ReplicaRoutingProperties {
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    private boolean enabled = false;
+    private Balancing balancing = Balancing.ROUND_ROBIN;
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Query run on each replica that returns its replication lag in seconds,
+     * e.g. {@code SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())} on PostgreSQL.
+     * When unset, replicas are only checked for liveness.
+     */
+    private String lagQuery;
+
+    /**
+     * How long read-only work stays on the primary after a product change, so a cache entry the change
+     * evicted is not reloaded from a replica that has yet to replay it. Unset means max-lag plus
+     * lag-check-interval, the furthest a replica still in rotation can be behind.
+     */
+    private Duration primaryAfterWrite;
+
+    private List<Replica> nodes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Balancing getBalancing() {
+        return balancing;
+    }
+
+    public void setBalancing(Balancing balancing) {
+        this.balancing = balancing;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getLagCheckInterval() {
+        return lagCheckInterval;
+    }
+
+    public void setLagCheckInterval(Duration lagCheckInterval) {
+        this.lagCheckInterval = lagCheckInterval;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    public Duration getPrimaryAfterWrite() {
+        return primaryAfterWrite != null ? primaryAfterWrite : maxLag.plus(lagCheckInterval);
+    }
+
+    public void setPrimaryAfterWrite(Duration primaryAfterWrite) {
+        this.primaryAfterWrite = primaryAfterWrite;
+    }
+
+    public List<Replica> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<Replica> nodes) {
+        this.nodes = nodes;
+    }
+
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        /**
+         * Run the Liquibase changelog against this replica on startup.
+         * Only meant for local setups where the "replica" is a separate embedded database.
+         */
+        private boolean initializeSchema = false;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public boolean isInitializeSchema() {
+            return initializeSchema;
+        }
+
+        public void setInitializeSchema(boolean initializeSchema) {
+            this.initializeSchema = initializeSchema;
+        }
+    }
+}
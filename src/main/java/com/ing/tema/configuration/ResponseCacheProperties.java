@@ -0,0 +1,35 @@
+package com.ing.tema.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Product responses kept at most; the least valuable are evicted beyond that.
+     */
+    private long maxEntries = 10_000;
+
+    /**
+     * Lifetime of a cached response, bounding how long an entry that missed an invalidation stays stale.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+}
@@ -1,9 +1,13 @@
 package com.ing.tema.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ing.tema.entities.Role;
 import com.ing.tema.security.JwtConfigProperties;
+import com.ing.tema.security.RateLimitFilter;
+import com.ing.tema.security.RateLimiter;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +26,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -90,7 +95,10 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http,
-                                                   JwtAuthenticationConverter jwtAuthenticationConverter) throws Exception {
+                                                   JwtAuthenticationConverter jwtAuthenticationConverter,
+                                                   RateLimiter rateLimiter,
+                                                   ObjectMapper objectMapper,
+                                                   MeterRegistry meterRegistry) throws Exception {
 
         http
                 .csrf(csrf -> csrf.disable())
@@ -118,7 +126,8 @@ public class SecurityConfig {
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter))
-                );
+                )
+                .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper, meterRegistry), BearerTokenAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,56 @@
+package com.ing.tema.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ing.tema.services.CatalogSnapshotService;
+import com.ing.tema.services.ProductResponseCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ProductResponseCache productResponseCache;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ObjectMapper objectMapper;
+
+    public WebConfig(ProductResponseCache productResponseCache,
+                     CatalogSnapshotService catalogSnapshotService,
+                     ObjectMapper objectMapper) {
+        this.productResponseCache = productResponseCache;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Binary alternatives to JSON for service-to-service calls, picked through the Accept and
+     * Content-Type headers ({@code application/cbor}, {@code application/x-jackson-smile}).
+     * Both share the application's Jackson configuration.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new PreSerializedJsonHttpMessageConverter(
+                productResponseCache,
+                catalogSnapshotService,
+                objectMapper
+        ));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ing.tema.controllers;
+
+import com.ing.tema.audit.AuditLog;
+import com.ing.tema.dtos.AuditLogEntry;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@SecurityRequirement(name = "bearer-jwt")
+@RequestMapping("/api/audit")
+public class AuditLogController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final AuditLog auditLog;
+
+    public AuditLogController(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AuditLogEntry>> findEntries(
+            @RequestParam(required = false) String principal,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(auditLog.find(principal, from, to, limit));
+    }
+}
@@ -2,13 +2,17 @@ package com.ing.tema.controllers;
 
 import com.ing.tema.dtos.LoginRequest;
 import com.ing.tema.dtos.TokenResponse;
+import com.ing.tema.events.AuditedActionEvent;
+import com.ing.tema.events.ProductChangedEvent;
 import com.ing.tema.services.JwtService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,23 +23,35 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+    private static final String TOKEN_PATH = "/api/auth/token";
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthController(AuthenticationManager authenticationManager,
-                          JwtService jwtService) {
+                          JwtService jwtService,
+                          ApplicationEventPublisher eventPublisher) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.eventPublisher = eventPublisher;
     }
 
     @PostMapping("/token")
     public ResponseEntity<TokenResponse> token(@RequestBody LoginRequest request) {
         log.info("Authentication request for user {}", request.username());
-
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.username(), request.password())
-        );
+        ProductChangedEvent.Actor actor = new ProductChangedEvent.Actor(request.username(), "POST", TOKEN_PATH, null);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.username(), request.password())
+            );
+        } catch (AuthenticationException ex) {
+            eventPublisher.publishEvent(new AuditedActionEvent(AuditedActionEvent.Action.LOGIN_FAILED, actor));
+            throw ex;
+        }
+        eventPublisher.publishEvent(new AuditedActionEvent(AuditedActionEvent.Action.LOGIN_SUCCEEDED, actor));
 
         String token = jwtService.generateToken(authentication);
         long expiresIn = jwtService.getExpirationSeconds();
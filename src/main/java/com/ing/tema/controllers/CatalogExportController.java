@@ -0,0 +1,71 @@
+package com.ing.tema.controllers;
+
+import com.ing.tema.configuration.CatalogExportProperties;
+import com.ing.tema.services.CatalogExportService;
+import com.ing.tema.services.CatalogExportService.Format;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Full-catalog downloads for bulk consumers. Unlike {@code GET /api/products} nothing is collected in
+ * memory: the response is written row by row from the database cursor on an async request thread.
+ */
+@RestController
+@SecurityRequirement(name = "bearer-jwt")
+@RequestMapping("/api/products/export")
+public class CatalogExportController {
+
+    private final CatalogExportService exportService;
+    private final CatalogExportProperties properties;
+
+    public CatalogExportController(CatalogExportService exportService, CatalogExportProperties properties) {
+        this.exportService = exportService;
+        this.properties = properties;
+    }
+
+    @GetMapping("/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(Format.CSV, acceptEncoding);
+    }
+
+    @GetMapping("/ndjson")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(Format.NDJSON, acceptEncoding);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(Format format, String acceptEncoding) {
+        boolean gzip = properties.isGzip() && acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("catalog." + format.extension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> exportService.export(format, gzip, out));
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
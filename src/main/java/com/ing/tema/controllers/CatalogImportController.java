@@ -0,0 +1,72 @@
+package com.ing.tema.controllers;
+
+import com.ing.tema.dtos.CatalogImportResponse;
+import com.ing.tema.services.CatalogExportService.Format;
+import com.ing.tema.services.CatalogImportService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk catalog upload, the counterpart of {@link CatalogExportController}: the body is a CSV or NDJSON
+ * file, optionally gzip-encoded, and {@value #IMPORT_ID_HEADER} names the import so a failed upload can
+ * be retried where it stopped and its progress polled.
+ */
+@RestController
+@SecurityRequirement(name = "bearer-jwt")
+@RequestMapping("/api/products/import")
+public class CatalogImportController {
+
+    public static final String IMPORT_ID_HEADER = "Import-Id";
+
+    private final CatalogImportService importService;
+
+    public CatalogImportController(CatalogImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogImportResponse> importCsv(
+            @RequestHeader(IMPORT_ID_HEADER) String importId,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body,
+            Principal principal
+    ) throws IOException {
+        return ResponseEntity.ok(importService.importCatalog(Format.CSV, decode(body, contentEncoding), importId, principal.getName()));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogImportResponse> importNdjson(
+            @RequestHeader(IMPORT_ID_HEADER) String importId,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body,
+            Principal principal
+    ) throws IOException {
+        return ResponseEntity.ok(importService.importCatalog(Format.NDJSON, decode(body, contentEncoding), importId, principal.getName()));
+    }
+
+    @GetMapping("/{importId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogImportResponse> getImport(@PathVariable String importId, Principal principal) {
+        return ResponseEntity.ok(importService.getImport(importId, principal.getName()));
+    }
+
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        return "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+    }
+}
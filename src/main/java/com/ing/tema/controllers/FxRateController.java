@@ -0,0 +1,32 @@
+package com.ing.tema.controllers;
+
+import com.ing.tema.dtos.FxRatesRequest;
+import com.ing.tema.dtos.FxRatesResponse;
+import com.ing.tema.services.FxRateService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@SecurityRequirement(name = "bearer-jwt")
+@RequestMapping("/api/fx-rates")
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    public FxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    @GetMapping
+    public ResponseEntity<FxRatesResponse> getRates() {
+        return ResponseEntity.ok(fxRateService.getRates());
+    }
+
+    @PutMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FxRatesResponse> replaceRates(@RequestBody FxRatesRequest request) {
+        return ResponseEntity.ok(fxRateService.replaceRates(request));
+    }
+}
@@ -0,0 +1,25 @@
+package com.ing.tema.controllers;
+
+import com.ing.tema.dtos.PriceStatisticsResponse;
+import com.ing.tema.services.PriceStatisticsService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@SecurityRequirement(name = "bearer-jwt")
+@RequestMapping("/api/products/statistics")
+public class PriceStatisticsController {
+
+    private final PriceStatisticsService priceStatisticsService;
+
+    public PriceStatisticsController(PriceStatisticsService priceStatisticsService) {
+        this.priceStatisticsService = priceStatisticsService;
+    }
+
+    @GetMapping
+    public PriceStatisticsResponse getStatistics() {
+        return priceStatisticsService.getStatistics();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ing.tema.controllers;
+
+import com.ing.tema.services.PriceChangeBroadcaster;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@SecurityRequirement(name = "bearer-jwt")
+@RequestMapping("/api/products/price-stream")
+public class PriceStreamController {
+
+    private final PriceChangeBroadcaster broadcaster;
+
+    public PriceStreamController(PriceChangeBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPriceChanges(
+            @RequestParam(required = false) String skuPrefix,
+            @RequestParam(required = false) Set<Long> ids
+    ) {
+        return broadcaster.subscribe(skuPrefix, ids);
+    }
+}
@@ -3,6 +3,7 @@ package com.ing.tema.controllers;
 import com.ing.tema.dtos.ChangePriceRequest;
 import com.ing.tema.dtos.CreateProductRequest;
 import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.services.FxRateService;
 import com.ing.tema.services.ProductService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.slf4j.Logger;
@@ -24,9 +25,11 @@ public class ProductController {
     public static final String IDEMPOTENCY_HEADER = "Idempotency-Id";
 
     private final ProductService productService;
+    private final FxRateService fxRateService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, FxRateService fxRateService) {
         this.productService = productService;
+        this.fxRateService = fxRateService;
     }
 
     @PostMapping
@@ -50,20 +53,35 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String currency
+    ) {
         ProductResponse response = productService.getProductById(id);
+        if (currency != null) {
+            response = fxRateService.convert(response, currency);
+        }
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/by-sku/{sku}")
-    public ResponseEntity<ProductResponse> getProductBySku(@PathVariable String sku) {
+    public ResponseEntity<ProductResponse> getProductBySku(
+            @PathVariable String sku,
+            @RequestParam(required = false) String currency
+    ) {
         ProductResponse response = productService.getProductBySku(sku);
+        if (currency != null) {
+            response = fxRateService.convert(response, currency);
+        }
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> listProducts() {
+    public ResponseEntity<List<ProductResponse>> listProducts(@RequestParam(required = false) String currency) {
         List<ProductResponse> products = productService.listProducts();
+        if (currency != null) {
+            products = fxRateService.convertAll(products, currency);
+        }
         return ResponseEntity.ok(products);
     }
 
@@ -0,0 +1,111 @@
+package com.ing.tema.datasource;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+/**
+ * Skips Liquibase entirely when the changelog files are byte-for-byte those of the last successful run.
+ * <p>
+ * Liquibase itself re-parses every changelog, takes its lock and checksums each changeset on every
+ * start. Here the files are hashed instead and the hash compared with the one recorded in
+ * {@code schema_fingerprint} after the last run; any difference, a missing table or a failed lookup
+ * falls back to a normal Liquibase run.
+ */
+public class FingerprintedLiquibase extends SpringLiquibase {
+
+    private static final Logger log = LoggerFactory.getLogger(FingerprintedLiquibase.class);
+
+    private final String changeLogPattern;
+
+    /**
+     * @param changeLogPattern resource pattern matching every file the master changelog includes
+     */
+    public FingerprintedLiquibase(String changeLogPattern) {
+        this.changeLogPattern = changeLogPattern;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        if (!shouldRun) {
+            super.afterPropertiesSet();
+            return;
+        }
+
+        String fingerprint = fingerprint();
+        if (isApplied(fingerprint)) {
+            log.info("Changelog unchanged since last run (fingerprint {}), skipping Liquibase", fingerprint.substring(0, 12));
+            return;
+        }
+
+        super.afterPropertiesSet();
+        record(fingerprint);
+    }
+
+    String fingerprint() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver(getResourceLoader()).getResources(changeLogPattern);
+            Arrays.sort(resources, Comparator.comparing(Resource::getFilename));
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(getContexts()).getBytes(StandardCharsets.UTF_8));
+            digest.update(String.valueOf(getLabelFilter()).getBytes(StandardCharsets.UTF_8));
+            for (Resource resource : resources) {
+                digest.update(String.valueOf(resource.getFilename()).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resource.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private boolean isApplied(String fingerprint) {
+        try (Connection connection = getDataSource().getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "select count(*) from schema_fingerprint where fingerprint = ?")) {
+            select.setString(1, fingerprint);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() && rs.getLong(1) > 0;
+            }
+        } catch (SQLException ex) {
+            log.debug("No usable schema fingerprint, running Liquibase: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private void record(String fingerprint) {
+        try (Connection connection = getDataSource().getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into schema_fingerprint (fingerprint, applied_at) values (?, CURRENT_TIMESTAMP)")) {
+            insert.setString(1, fingerprint);
+            insert.executeUpdate();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not record schema fingerprint, the next start runs Liquibase again: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ing.tema.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Periodically probes each replica and takes it out of rotation while it is unreachable
+ * or lagging more than {@code maxLag} behind the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<ReplicaNode> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+
+    public ReplicaLagMonitor(List<ReplicaNode> replicas, Duration maxLag, String lagQuery) {
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+    }
+
+    @Scheduled(fixedDelayString = "${store.datasource.replicas.lag-check-interval:5s}")
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    void check(ReplicaNode replica) {
+        boolean wasHealthy = replica.isHealthy();
+
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                replica.markUnhealthy(replica.getLag());
+            } else {
+                Duration lag = measureLag(connection);
+                if (lag.compareTo(maxLag) > 0) {
+                    replica.markUnhealthy(lag);
+                } else {
+                    replica.markHealthy(lag);
+                }
+            }
+        } catch (SQLException ex) {
+            log.debug("Replica {} probe failed: {}", replica.getName(), ex.getMessage());
+            replica.markUnhealthy(replica.getLag());
+        }
+
+        if (wasHealthy && !replica.isHealthy()) {
+            log.warn("Replica {} taken out of rotation, lag={}", replica.getName(), replica.getLag());
+        } else if (!wasHealthy && replica.isHealthy()) {
+            log.info("Replica {} back in rotation, lag={}", replica.getName(), replica.getLag());
+        }
+    }
+
+    private Duration measureLag(Connection connection) throws SQLException {
+        if (lagQuery == null) {
+            return Duration.ZERO;
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return Duration.ZERO;
+            }
+            double seconds = rs.getDouble(1);
+            return rs.wasNull() ? Duration.ZERO : Duration.ofMillis(Math.round(seconds * 1000));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ing.tema.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+
+    private volatile boolean healthy = true;
+    private volatile Duration lag = Duration.ZERO;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+
+    public void markHealthy(Duration lag) {
+        this.lag = lag;
+        this.healthy = true;
+    }
+
+    public void markUnhealthy(Duration lag) {
+        this.lag = lag;
+        this.healthy = false;
+    }
+
+    int activeConnections() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ing.tema.datasource;
+
+import com.ing.tema.entities.Product;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductBatchChangedEvent;
+import com.ing.tema.events.RemoteProductChangedEvent;
+import com.ing.tema.services.ProductResponseCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read-your-writes on top of the {@link ReplicaRoutingDataSource}.
+ * <p>
+ * A local change is reported before its transaction commits, so the writer's next read-only work already
+ * goes to the primary. Everyone else keeps reading from replicas, and a cache the change evicted may be
+ * refilled from one that has not replayed it yet; the changed products are therefore evicted again from
+ * the response cache and the second-level cache once {@code primaryAfterWrite} has passed, when every
+ * replica still in rotation has caught up. Changes from other nodes carry no principal and only get the
+ * second eviction.
+ */
+public class ReplicaReadAfterWrite {
+
+    private final ReplicaRoutingDataSource routing;
+    private final ProductResponseCache responseCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskScheduler taskScheduler;
+    private final Duration replayWindow;
+
+    public ReplicaReadAfterWrite(ReplicaRoutingDataSource routing,
+                                 ProductResponseCache responseCache,
+                                 EntityManagerFactory entityManagerFactory,
+                                 TaskScheduler taskScheduler,
+                                 Duration replayWindow) {
+        this.routing = routing;
+        this.responseCache = responseCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.taskScheduler = taskScheduler;
+        this.replayWindow = replayWindow;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeProductChanged(ProductChangedEvent event) {
+        routing.writeCommitted(principalOf(event.actor()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evictAfterReplay(List.of(event.productId()));
+    }
+
+    @EventListener
+    public void onRemoteProductChanged(RemoteProductChangedEvent event) {
+        evictAfterReplay(List.of(event.change().productId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeProductsChanged(ProductBatchChangedEvent event) {
+        routing.writeCommitted(principalOf(event.actor()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        evictAfterReplay(event.productIds());
+    }
+
+    @EventListener
+    public void onRemoteProductsChanged(RemoteProductBatchChangedEvent event) {
+        evictAfterReplay(event.productIds());
+    }
+
+    private void evictAfterReplay(List<Long> ids) {
+        taskScheduler.schedule(() -> evict(ids), Instant.now().plus(replayWindow));
+    }
+
+    void evict(List<Long> ids) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        for (Long id : ids) {
+            cache.evictEntityData(Product.class, id);
+        }
+        cache.evictNaturalIdData(Product.class);
+        cache.evictDefaultQueryRegion();
+        responseCache.evictAll(ids);
+    }
+
+    private static String principalOf(ProductChangedEvent.Actor actor) {
+        return actor == null ? null : actor.principal();
+    }
+}
@@ -0,0 +1,132 @@
+package com.ing.tema.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ing.tema.configuration.ReplicaRoutingProperties.Balancing;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a healthy replica and everything else to the primary.
+ * <p>
+ * For {@code primaryAfterWrite} after {@link #writeCommitted(String)} the read-only work of that writer
+ * goes to the primary as well, so a client reads its own writes even from a replica that has yet to
+ * replay them. Other principals keep reading from replicas; the caches they may refill with a
+ * pre-write row are evicted again once the window has passed, see {@link ReplicaReadAfterWrite}.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * read-only flag is only bound to the thread after the transaction manager asks for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    private static final int MAX_RECENT_WRITERS = 100_000;
+
+    private final List<ReplicaNode> replicas;
+    private final Balancing balancing;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<ReplicaNode> replicas,
+                                    Balancing balancing,
+                                    Duration primaryAfterWrite) {
+        this.replicas = List.copyOf(replicas);
+        this.balancing = balancing;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAX_RECENT_WRITERS)
+                .expireAfterWrite(primaryAfterWrite)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaNode replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Keeps the read-only work of {@code principal} on the primary for the next {@code primaryAfterWrite}.
+     * Writes without a principal, e.g. from other nodes, only need the delayed cache eviction.
+     */
+    public void writeCommitted(String principal) {
+        if (principal != null) {
+            recentWriters.put(principal, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || currentPrincipalWroteRecently()) {
+            return PRIMARY;
+        }
+
+        ReplicaNode replica = selectReplica();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+
+    private boolean currentPrincipalWroteRecently() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && recentWriters.getIfPresent(authentication.getName()) != null;
+    }
+
+    ReplicaNode selectReplica() {
+        return balancing == Balancing.LEAST_CONNECTIONS
+                ? leastConnections()
+                : roundRobin();
+    }
+
+    private ReplicaNode roundRobin() {
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            ReplicaNode candidate = replicas.get(Math.floorMod(start + i, size));
+            if (candidate.isHealthy()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private ReplicaNode leastConnections() {
+        ReplicaNode best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (ReplicaNode candidate : replicas) {
+            if (!candidate.isHealthy()) {
+                continue;
+            }
+            int active = candidate.activeConnections();
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ReplicaNode replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ing.tema.dtos;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+public record AuditLogEntry(
+        Long id,
+        Instant occurredAt,
+        String principal,
+        String httpMethod,
+        String path,
+        String action,
+        Long productId,
+        String sku,
+        @JsonRawValue String before,
+        @JsonRawValue String after,
+        String idempotencyKey
+) {
+}
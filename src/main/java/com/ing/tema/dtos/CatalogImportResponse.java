@@ -0,0 +1,23 @@
+package com.ing.tema.dtos;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a catalog import. The counts cover every committed chunk, including those of earlier
+ * attempts under the same import id; {@code errors} describes rejected rows of this attempt only.
+ */
+public record CatalogImportResponse(
+        String importId,
+        String status,
+        String format,
+        long rowsCommitted,
+        long inserted,
+        long updated,
+        long unchanged,
+        long rejected,
+        String lastError,
+        Instant updatedAt,
+        List<String> errors
+) {
+}
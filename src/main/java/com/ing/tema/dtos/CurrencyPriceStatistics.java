@@ -0,0 +1,15 @@
+package com.ing.tema.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CurrencyPriceStatistics(
+        String currency,
+        long count,
+        BigDecimal min,
+        BigDecimal max,
+        BigDecimal average,
+        BigDecimal sum,
+        List<PriceBand> histogram
+) {
+}
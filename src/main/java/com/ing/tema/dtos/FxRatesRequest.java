@@ -0,0 +1,10 @@
+package com.ing.tema.dtos;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public record FxRatesRequest(
+        String baseCurrency,
+        Map<String, BigDecimal> rates
+) {
+}
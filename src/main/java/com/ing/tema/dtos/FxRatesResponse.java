@@ -0,0 +1,12 @@
+package com.ing.tema.dtos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+public record FxRatesResponse(
+        String baseCurrency,
+        Map<String, BigDecimal> rates,
+        Instant updatedAt
+) {
+}
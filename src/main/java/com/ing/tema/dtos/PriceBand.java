@@ -0,0 +1,13 @@
+package com.ing.tema.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Products priced in {@code [from, to)}; {@code to} is null for the open-ended top band.
+ */
+public record PriceBand(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {
+}
@@ -0,0 +1,14 @@
+package com.ing.tema.dtos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record PriceChangeEvent(
+        Long productId,
+        String sku,
+        BigDecimal oldPrice,
+        BigDecimal newPrice,
+        String currency,
+        Instant changedAt
+) {
+}
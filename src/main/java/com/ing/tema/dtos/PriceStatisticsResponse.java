@@ -0,0 +1,10 @@
+package com.ing.tema.dtos;
+
+import java.time.Instant;
+import java.util.List;
+
+public record PriceStatisticsResponse(
+        List<CurrencyPriceStatistics> currencies,
+        Instant computedAt
+) {
+}
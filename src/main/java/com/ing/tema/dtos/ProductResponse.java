@@ -1,5 +1,7 @@
 package com.ing.tema.dtos;
 
+import com.ing.tema.money.Money;
+
 import java.math.BigDecimal;
 
 public record ProductResponse(
@@ -10,4 +12,11 @@ public record ProductResponse(
         String currency,
         String description
 ) {
+
+    /**
+     * The price in minor units, for comparing and aggregating without {@link BigDecimal} arithmetic.
+     */
+    public Money money() {
+        return Money.of(price, currency);
+    }
 }
@@ -1,27 +1,49 @@
 package com.ing.tema.entities;
 
+import com.ing.tema.money.MinorUnits;
+import com.ing.tema.money.MinorUnitsConverter;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@NaturalIdCache(region = "products-by-sku")
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true, length = 64)
     private String sku;
 
     @Column(nullable = false, length = 128)
     private String name;
 
-    @Column(nullable = false, precision = 19, scale = 2)
+    @Convert(converter = MinorUnitsConverter.class)
+    @Column(name = "price", nullable = false, precision = 19, scale = 2)
+    private Long priceMinor;
+
+    /**
+     * Decimal form of {@link #priceMinor} for the API edge, built on first use and kept until the price
+     * changes. Hibernate writes {@code priceMinor} directly, so it is checked against {@code priceMinorOfPrice}.
+     */
+    @Transient
     private BigDecimal price;
 
+    @Transient
+    private long priceMinorOfPrice;
+
     @Column(nullable = false, length = 3)
     private String currency;
 
@@ -40,7 +62,7 @@ public class Product {
     public Product(String sku, String name, BigDecimal price, String currency, String description) {
         this.sku = sku;
         this.name = name;
-        this.price = price;
+        setPrice(price);
         this.currency = currency;
         this.description = description;
     }
@@ -80,7 +102,21 @@ public class Product {
     }
 
     public BigDecimal getPrice() {
-        return price;
+        Long minorUnits = priceMinor;
+        if (minorUnits == null) {
+            return null;
+        }
+        BigDecimal cached = price;
+        if (cached == null || priceMinorOfPrice != minorUnits) {
+            cached = MinorUnits.toBigDecimal(minorUnits);
+            price = cached;
+            priceMinorOfPrice = minorUnits;
+        }
+        return cached;
+    }
+
+    public Long getPriceMinor() {
+        return priceMinor;
     }
 
     public String getCurrency() {
@@ -104,7 +140,11 @@ public class Product {
     }
 
     public void setPrice(BigDecimal price) {
-        this.price = price;
+        this.priceMinor = price == null ? null : MinorUnits.fromBigDecimal(price);
+    }
+
+    public void setPriceMinor(Long priceMinor) {
+        this.priceMinor = priceMinor;
     }
 
     public void setCurrency(String currency) {
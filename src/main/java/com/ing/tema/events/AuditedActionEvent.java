@@ -0,0 +1,23 @@
+package com.ing.tema.events;
+
+import java.time.Instant;
+
+/**
+ * A security or control action that changes no product but belongs in the audit trail, such as a login
+ * or the start and end of a catalog import. Published outside any transaction and recorded as it happens.
+ */
+public record AuditedActionEvent(Action action, ProductChangedEvent.Actor actor, Instant occurredAt) {
+
+    public AuditedActionEvent(Action action, ProductChangedEvent.Actor actor) {
+        this(action, actor, Instant.now());
+    }
+
+    public enum Action {
+        LOGIN_SUCCEEDED,
+        LOGIN_FAILED,
+        IMPORT_STARTED,
+        IMPORT_RESUMED,
+        IMPORT_COMPLETED,
+        IMPORT_FAILED
+    }
+}
@@ -0,0 +1,21 @@
+package com.ing.tema.events;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Product changes committed together, published once per chunk by
+ * {@link com.ing.tema.services.CatalogImportService} instead of one {@link ProductChangedEvent} per row.
+ * Caches, the audit log and the cluster handle the whole chunk at once; {@code changes} keeps the
+ * individual rows for consumers that need them one by one, like the price stream.
+ */
+public record ProductBatchChangedEvent(
+        List<ProductChangedEvent> changes,
+        Instant occurredAt,
+        ProductChangedEvent.Actor actor
+) {
+
+    public List<Long> productIds() {
+        return changes.stream().map(ProductChangedEvent::productId).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.ing.tema.events;
+
+import com.ing.tema.dtos.ProductResponse;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link com.ing.tema.services.ProductService} for every product mutation;
+ * {@link com.ing.tema.services.CatalogImportService} groups a chunk's changes into a {@link ProductBatchChangedEvent}.
+ * {@code before} is null for creations and {@code after} is null for deletions;
+ * {@code actor} is null when the change did not come from an API request.
+ */
+public record ProductChangedEvent(
+        ChangeType type,
+        Long productId,
+        String sku,
+        ProductResponse before,
+        ProductResponse after,
+        Instant occurredAt,
+        Actor actor
+) {
+
+    /**
+     * Who made the change and through which request.
+     */
+    public record Actor(String principal, String httpMethod, String path, String idempotencyKey) {
+    }
+
+    public enum ChangeType {
+        CREATED,
+        PRICE_CHANGED,
+        /**
+         * Any other field changed, e.g. by a catalog import.
+         */
+        UPDATED,
+        DELETED
+    }
+
+    public static ProductChangedEvent created(ProductResponse after) {
+        return created(after, null);
+    }
+
+    public static ProductChangedEvent created(ProductResponse after, Actor actor) {
+        return new ProductChangedEvent(ChangeType.CREATED, after.id(), after.sku(), null, after, Instant.now(), actor);
+    }
+
+    public static ProductChangedEvent priceChanged(ProductResponse before, ProductResponse after) {
+        return priceChanged(before, after, null);
+    }
+
+    public static ProductChangedEvent priceChanged(ProductResponse before, ProductResponse after, Actor actor) {
+        return new ProductChangedEvent(ChangeType.PRICE_CHANGED, after.id(), after.sku(), before, after, Instant.now(), actor);
+    }
+
+    public static ProductChangedEvent updated(ProductResponse before, ProductResponse after, Actor actor) {
+        return new ProductChangedEvent(ChangeType.UPDATED, after.id(), after.sku(), before, after, Instant.now(), actor);
+    }
+
+    public static ProductChangedEvent deleted(ProductResponse before) {
+        return deleted(before, null);
+    }
+
+    public static ProductChangedEvent deleted(ProductResponse before, Actor actor) {
+        return new ProductChangedEvent(ChangeType.DELETED, before.id(), before.sku(), before, null, Instant.now(), actor);
+    }
+}
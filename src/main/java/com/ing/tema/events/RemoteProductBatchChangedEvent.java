@@ -0,0 +1,11 @@
+package com.ing.tema.events;
+
+import java.util.List;
+
+/**
+ * A {@link ProductBatchChangedEvent} committed on another node, republished locally by
+ * {@link com.ing.tema.cluster.ClusterCoordinator}. Only the ids travel, so receivers evict or
+ * rebuild what they hold for those products rather than applying the new states.
+ */
+public record RemoteProductBatchChangedEvent(List<Long> productIds, String originNode) {
+}
@@ -0,0 +1,9 @@
+package com.ing.tema.events;
+
+/**
+ * A {@link ProductChangedEvent} committed on another node, republished locally by
+ * {@link com.ing.tema.cluster.ClusterCoordinator}. Caches listen for it alongside the local event;
+ * consumers that must see each change exactly once cluster-wide, like the audit log, do not.
+ */
+public record RemoteProductChangedEvent(ProductChangedEvent change, String originNode) {
+}
@@ -2,9 +2,14 @@ package com.ing.tema.exception_handling;
 
 
 import com.ing.tema.dtos.ErrorResponse;
+import com.ing.tema.exceptions.CatalogImportInProgressException;
+import com.ing.tema.exceptions.CatalogImportNotFoundException;
 import com.ing.tema.exceptions.DuplicateIdempotencyKeyException;
+import com.ing.tema.exceptions.MalformedCatalogImportException;
+import com.ing.tema.exceptions.PriceStreamUnavailableException;
 import com.ing.tema.exceptions.ProductAlreadyExistsException;
 import com.ing.tema.exceptions.ProductNotFoundException;
+import com.ing.tema.exceptions.UnsupportedCurrencyException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,6 +86,93 @@ public class GlobalExceptionHandler {
     }
 
 
+    /**
+     * Bodiless: the client asked for {@code text/event-stream}, which an {@link ErrorResponse} cannot be rendered as.
+     */
+    @ExceptionHandler(PriceStreamUnavailableException.class)
+    public ResponseEntity<Void> handlePriceStreamUnavailable(PriceStreamUnavailableException ex) {
+        log.warn("Price stream unavailable: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+
+    @ExceptionHandler(UnsupportedCurrencyException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedCurrency(
+            UnsupportedCurrencyException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Unsupported currency: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                "UNSUPPORTED_CURRENCY"
+        );
+
+        return ResponseEntity.badRequest().body(error);
+    }
+
+
+    @ExceptionHandler(CatalogImportNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleCatalogImportNotFound(
+            CatalogImportNotFoundException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Catalog import not found: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.NOT_FOUND.value(),
+                HttpStatus.NOT_FOUND.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                "IMPORT_NOT_FOUND"
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+
+    @ExceptionHandler(CatalogImportInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleCatalogImportInProgress(
+            CatalogImportInProgressException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Catalog import in progress: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                "IMPORT_IN_PROGRESS"
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+
+    @ExceptionHandler(MalformedCatalogImportException.class)
+    public ResponseEntity<ErrorResponse> handleMalformedCatalogImport(
+            MalformedCatalogImportException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Malformed catalog import: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                "MALFORMED_IMPORT"
+        );
+
+        return ResponseEntity.badRequest().body(error);
+    }
+
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex,
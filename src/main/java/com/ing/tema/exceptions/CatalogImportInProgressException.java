@@ -0,0 +1,8 @@
+package com.ing.tema.exceptions;
+
+public class CatalogImportInProgressException extends RuntimeException {
+
+    public CatalogImportInProgressException(String importId) {
+        super("Catalog import is already running: " + importId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ing.tema.exceptions;
+
+public class CatalogImportNotFoundException extends RuntimeException {
+
+    public CatalogImportNotFoundException(String importId) {
+        super("Catalog import not found: " + importId);
+    }
+}
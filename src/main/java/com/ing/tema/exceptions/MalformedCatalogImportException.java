@@ -0,0 +1,9 @@
+package com.ing.tema.exceptions;
+
+public class MalformedCatalogImportException extends RuntimeException {
+
+    public MalformedCatalogImportException(String importId, long rowsCommitted, Throwable cause) {
+        super("Catalog import " + importId + " stopped at unreadable input after " + rowsCommitted
+                + " committed rows: " + cause.getMessage(), cause);
+    }
+}
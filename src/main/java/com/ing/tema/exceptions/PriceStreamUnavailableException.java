@@ -0,0 +1,8 @@
+package com.ing.tema.exceptions;
+
+public class PriceStreamUnavailableException extends RuntimeException {
+
+    public PriceStreamUnavailableException(int maxSubscribers) {
+        super("Price stream subscriber limit reached: " + maxSubscribers);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ing.tema.exceptions;
+
+public class UnsupportedCurrencyException extends RuntimeException {
+
+    public UnsupportedCurrencyException(String currency) {
+        super("No exchange rate for currency: " + currency);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ing.tema.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through one in {@code rate} INFO (and lower) events from the configured high-volume loggers;
+ * WARN and ERROR always pass. Turbo filters run before Logback builds the logging event, so a sampled-out
+ * call costs a map lookup and an increment and allocates nothing.
+ * <pre>
+ * &lt;turboFilter class="com.ing.tema.logging.SamplingTurboFilter"&gt;
+ *     &lt;logger&gt;com.ing.tema.controllers.AuthController&lt;/logger&gt;
+ *     &lt;rate&gt;100&lt;/rate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<String> loggers = new ArrayList<>();
+    private int rate = 100;
+    private Map<String, AtomicLong> counters = Map.of();
+
+    public void addLogger(String logger) {
+        loggers.add(logger.trim());
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void start() {
+        if (rate < 1) {
+            addError("rate must be at least 1");
+            return;
+        }
+        Map<String, AtomicLong> created = new HashMap<>();
+        for (String logger : loggers) {
+            created.put(logger, new AtomicLong());
+        }
+        counters = Map.copyOf(created);
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong counter = counters.get(logger.getName());
+        if (counter == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
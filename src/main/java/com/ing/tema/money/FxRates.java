@@ -0,0 +1,119 @@
+package com.ing.tema.money;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable exchange-rate table. Every cross rate is computed once when the table is built,
+ * so a conversion is a map lookup and one multiplication.
+ */
+public final class FxRates {
+
+    private static final MathContext CROSS_RATE_PRECISION = MathContext.DECIMAL64;
+
+    private final String baseCurrency;
+    private final Map<String, BigDecimal> rates;
+    private final Map<String, Map<String, BigDecimal>> multipliers;
+    private final Map<String, Integer> scales;
+    private final Instant updatedAt;
+
+    private FxRates(String baseCurrency, Map<String, BigDecimal> rates, Instant updatedAt) {
+        this.baseCurrency = baseCurrency;
+        this.rates = rates;
+        this.updatedAt = updatedAt;
+
+        Map<String, Map<String, BigDecimal>> crossRates = new HashMap<>();
+        rates.forEach((from, fromRate) -> {
+            Map<String, BigDecimal> row = new HashMap<>();
+            // per minor unit of the source, so a conversion is one multiplication of the long amount
+            rates.forEach((to, toRate) -> row.put(to,
+                    toRate.divide(fromRate, CROSS_RATE_PRECISION).movePointLeft(MinorUnits.SCALE)));
+            crossRates.put(from, Map.copyOf(row));
+        });
+        this.multipliers = Map.copyOf(crossRates);
+
+        Map<String, Integer> fractionDigits = new HashMap<>();
+        rates.keySet().forEach(currency -> fractionDigits.put(currency, fractionDigits(currency)));
+        this.scales = Map.copyOf(fractionDigits);
+    }
+
+    /**
+     * Minor-unit digits of an ISO 4217 currency (0 for JPY, 3 for KWD); two for codes the JDK does not know
+     * or that have no minor unit defined, such as XAU.
+     */
+    private static int fractionDigits(String currency) {
+        try {
+            int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            return digits < 0 ? MinorUnits.SCALE : digits;
+        } catch (IllegalArgumentException ex) {
+            return MinorUnits.SCALE;
+        }
+    }
+
+    /**
+     * @param rates units of each currency per one unit of {@code baseCurrency}; the base itself may be omitted
+     */
+    public static FxRates of(String baseCurrency, Map<String, BigDecimal> rates, Instant updatedAt) {
+        if (baseCurrency == null || baseCurrency.isBlank()) {
+            throw new IllegalArgumentException("Base currency is required");
+        }
+        String base = baseCurrency.trim().toUpperCase(Locale.ROOT);
+        Map<String, BigDecimal> normalized = new TreeMap<>();
+        normalized.put(base, BigDecimal.ONE);
+        if (rates != null) {
+            rates.forEach((currency, rate) -> {
+                if (currency == null || currency.isBlank()) {
+                    throw new IllegalArgumentException("Exchange rate currency is required");
+                }
+                if (rate == null || rate.signum() <= 0) {
+                    throw new IllegalArgumentException("Exchange rate for " + currency + " must be positive");
+                }
+                normalized.put(currency.trim().toUpperCase(Locale.ROOT), rate);
+            });
+        }
+        if (normalized.get(base).compareTo(BigDecimal.ONE) != 0) {
+            throw new IllegalArgumentException("Base currency " + base + " must have a rate of 1");
+        }
+        return new FxRates(base, Map.copyOf(normalized), updatedAt);
+    }
+
+    public String baseCurrency() {
+        return baseCurrency;
+    }
+
+    public Map<String, BigDecimal> rates() {
+        return new TreeMap<>(rates);
+    }
+
+    public Instant updatedAt() {
+        return updatedAt;
+    }
+
+    public boolean supports(String currency) {
+        return rates.containsKey(currency);
+    }
+
+    /**
+     * {@code amount} expressed in {@code to}, rounded half-up to the minor units of {@code to}; null if either
+     * currency is unknown. The result is only ever rendered, and some currencies have three decimals, so it is
+     * a {@link BigDecimal} at the target currency's scale rather than a {@link Money}.
+     */
+    public BigDecimal convert(Money amount, String to) {
+        if (amount.currency().equals(to)) {
+            return amount.toBigDecimal();
+        }
+        Map<String, BigDecimal> row = multipliers.get(amount.currency());
+        BigDecimal multiplier = row == null ? null : row.get(to);
+        if (multiplier == null) {
+            return null;
+        }
+        return BigDecimal.valueOf(amount.minorUnits()).multiply(multiplier).setScale(scales.get(to), RoundingMode.HALF_UP);
+    }
+}
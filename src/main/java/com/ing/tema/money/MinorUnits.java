@@ -0,0 +1,29 @@
+package com.ing.tema.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between {@link BigDecimal} prices and long minor units (cents), matching the
+ * NUMERIC(19,2) price column. Both directions round half-up, as the database does.
+ */
+public final class MinorUnits {
+
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    public static long fromBigDecimal(BigDecimal amount) {
+        try {
+            // unscaledValue() would build a BigInteger; shifting the point keeps compact values compact
+            return amount.setScale(SCALE, RoundingMode.HALF_UP).movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount out of range: " + amount, ex);
+        }
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ing.tema.money;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Internal money value: long minor units (hundredths, as in the NUMERIC(19,2) price column) plus an ISO
+ * currency code. Prices are compared, summed and converted in this form; {@link BigDecimal} only appears
+ * at the API edge, in request and response DTOs.
+ */
+public record Money(long minorUnits, String currency) implements Comparable<Money> {
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money of(BigDecimal amount, String currency) {
+        return new Money(MinorUnits.fromBigDecimal(amount), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return MinorUnits.toBigDecimal(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ing.tema.reactive;
+
+import com.ing.tema.dtos.LoginRequest;
+import com.ing.tema.dtos.TokenResponse;
+import com.ing.tema.services.JwtService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile(ReactiveTemaApplication.PROFILE)
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuthController.class);
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final JwtService jwtService;
+
+    public ReactiveAuthController(ReactiveAuthenticationManager authenticationManager, JwtService jwtService) {
+        this.authenticationManager = authenticationManager;
+        this.jwtService = jwtService;
+    }
+
+    @PostMapping("/token")
+    public Mono<TokenResponse> token(@RequestBody LoginRequest request) {
+        log.debug("Authentication request for user {}", request.username());
+
+        return authenticationManager
+                .authenticate(new UsernamePasswordAuthenticationToken(request.username(), request.password()))
+                .map(authentication -> new TokenResponse(
+                        jwtService.generateToken(authentication),
+                        "Bearer",
+                        jwtService.getExpirationSeconds()
+                ));
+    }
+}
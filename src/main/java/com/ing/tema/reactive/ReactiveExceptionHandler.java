@@ -0,0 +1,81 @@
+package com.ing.tema.reactive;
+
+import com.ing.tema.dtos.ErrorResponse;
+import com.ing.tema.exceptions.DuplicateIdempotencyKeyException;
+import com.ing.tema.exceptions.ProductAlreadyExistsException;
+import com.ing.tema.exceptions.ProductNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Same status codes and {@link ErrorResponse} error codes as
+ * {@link com.ing.tema.exception_handling.GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+@Profile(ReactiveTemaApplication.PROFILE)
+public class ReactiveExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleProductNotFound(ProductNotFoundException ex, ServerHttpRequest request) {
+        log.warn("Product not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, ex.getMessage(), request, "PRODUCT_NOT_FOUND");
+    }
+
+    @ExceptionHandler(ProductAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleProductAlreadyExists(ProductAlreadyExistsException ex, ServerHttpRequest request) {
+        log.warn("Product already exists: {}", ex.getMessage());
+        return error(HttpStatus.CONFLICT, ex.getMessage(), request, "PRODUCT_ALREADY_EXISTS");
+    }
+
+    @ExceptionHandler(DuplicateIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateIdempotencyKey(DuplicateIdempotencyKeyException ex, ServerHttpRequest request) {
+        log.warn("Duplicate idempotency key: {}", ex.getMessage());
+        return error(HttpStatus.CONFLICT, ex.getMessage(), request, "IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, ServerWebInputException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequest(Exception ex, ServerHttpRequest request) {
+        log.warn("Bad request at {}: {}", request.getPath().value(), ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage(), request, "BAD_REQUEST");
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex, ServerHttpRequest request) {
+        log.warn("Authentication failure at {}: {}", request.getPath().value(), ex.getMessage());
+        return error(HttpStatus.UNAUTHORIZED, "Authentication failed", request, "AUTHENTICATION_FAILED");
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex, ServerHttpRequest request) {
+        log.warn("Access denied at {}: {}", request.getPath().value(), ex.getMessage());
+        return error(HttpStatus.FORBIDDEN, "Access is denied", request, "ACCESS_DENIED");
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, ServerHttpRequest request) {
+        log.error("Unexpected error at {}: {}", request.getPath().value(), ex.getMessage(), ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred", request, "INTERNAL_SERVER_ERROR");
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message, ServerHttpRequest request, String code) {
+        ErrorResponse body = ErrorResponse.of(
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getPath().value(),
+                code
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+}
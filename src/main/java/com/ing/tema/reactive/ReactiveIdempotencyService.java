@@ -0,0 +1,54 @@
+package com.ing.tema.reactive;
+
+import com.ing.tema.exceptions.DuplicateIdempotencyKeyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.ing.tema.services.IdempotencyService}: the unique
+ * (idempotency_key, owner) constraint rejects a reused key.
+ */
+@Service
+@Profile(ReactiveTemaApplication.PROFILE)
+public class ReactiveIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveIdempotencyService.class);
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveIdempotencyService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> registerOrThrow(String key, String owner, String httpMethod, String path) {
+        if (key == null || key.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Idempotency key must not be null or blank"));
+        }
+
+        return databaseClient.sql("select nextval('idempotency_keys_seq')")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("""
+                                insert into idempotency_keys (id, idempotency_key, owner, http_method, path)
+                                values (:id, :key, :owner, :method, :path)
+                                """)
+                        .bind("id", id)
+                        .bind("key", key)
+                        .bind("owner", owner)
+                        .bind("method", httpMethod)
+                        .bind("path", path)
+                        .fetch()
+                        .rowsUpdated())
+                .doOnSuccess(rows -> log.debug("Registered idempotency key. key={}, owner={}", key, owner))
+                .onErrorMap(DataIntegrityViolationException.class, ex -> {
+                    log.warn("Idempotency key already used. key={}, owner={}", key, owner);
+                    return new DuplicateIdempotencyKeyException(key);
+                })
+                .then();
+    }
+}
@@ -0,0 +1,75 @@
+package com.ing.tema.reactive;
+
+import com.ing.tema.controllers.ProductController;
+import com.ing.tema.dtos.ChangePriceRequest;
+import com.ing.tema.dtos.CreateProductRequest;
+import com.ing.tema.dtos.ProductResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.security.Principal;
+
+@RestController
+@Profile(ReactiveTemaApplication.PROFILE)
+@RequestMapping("/api/products")
+public class ReactiveProductController {
+
+    private final ReactiveProductService productService;
+
+    public ReactiveProductController(ReactiveProductService productService) {
+        this.productService = productService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<ProductResponse>> createProduct(
+            @RequestHeader(ProductController.IDEMPOTENCY_HEADER) String idempotencyId,
+            @RequestBody CreateProductRequest request,
+            Principal principal
+    ) {
+        return productService.createProduct(request, idempotencyId, principal, "/api/products")
+                .map(response -> ResponseEntity.created(URI.create("/api/products/" + response.id())).body(response));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ProductResponse> getProductById(@PathVariable Long id) {
+        return productService.getProductById(id);
+    }
+
+    @GetMapping("/by-sku/{sku}")
+    public Mono<ProductResponse> getProductBySku(@PathVariable String sku) {
+        return productService.getProductBySku(sku);
+    }
+
+    @GetMapping
+    public Flux<ProductResponse> listProducts() {
+        return productService.listProducts();
+    }
+
+    @PutMapping("/{id}/price")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ProductResponse> changePrice(
+            @RequestHeader(ProductController.IDEMPOTENCY_HEADER) String idempotencyId,
+            @PathVariable Long id,
+            @RequestBody ChangePriceRequest request,
+            Principal principal
+    ) {
+        return productService.changePrice(id, request, idempotencyId, principal, "/api/products/" + id + "/price");
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Void>> deleteProduct(
+            @RequestHeader(ProductController.IDEMPOTENCY_HEADER) String idempotencyId,
+            @PathVariable Long id,
+            Principal principal
+    ) {
+        return productService.deleteProduct(id, idempotencyId, principal, "/api/products/" + id)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+}
@@ -0,0 +1,104 @@
+package com.ing.tema.reactive;
+
+import com.ing.tema.dtos.CreateProductRequest;
+import com.ing.tema.dtos.ProductResponse;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * R2DBC access to {@code products}. Ids come from {@code products_seq}, the same sequence the
+ * servlet application's pooled Hibernate generator uses, so both can run against one schema.
+ */
+@Repository
+@Profile(ReactiveTemaApplication.PROFILE)
+public class ReactiveProductRepository {
+
+    private static final String SELECT = "select id, sku, name, price, currency, description from products";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ProductResponse> findById(Long id) {
+        return databaseClient.sql(SELECT + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toResponse)
+                .one();
+    }
+
+    public Mono<ProductResponse> findBySku(String sku) {
+        return databaseClient.sql(SELECT + " where sku = :sku")
+                .bind("sku", sku)
+                .map(ReactiveProductRepository::toResponse)
+                .one();
+    }
+
+    public Flux<ProductResponse> findAll() {
+        return databaseClient.sql(SELECT + " order by id")
+                .map(ReactiveProductRepository::toResponse)
+                .all();
+    }
+
+    public Mono<Boolean> existsBySku(String sku) {
+        return databaseClient.sql("select count(*) from products where sku = :sku")
+                .bind("sku", sku)
+                .map((row, metadata) -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Mono<ProductResponse> insert(CreateProductRequest request) {
+        return databaseClient.sql("select nextval('products_seq')")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> {
+                    DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("""
+                                    insert into products (id, sku, name, price, currency, description)
+                                    values (:id, :sku, :name, :price, :currency, :description)
+                                    """)
+                            .bind("id", id)
+                            .bind("sku", request.sku())
+                            .bind("name", request.name())
+                            .bind("price", request.price())
+                            .bind("currency", request.currency());
+                    insert = request.description() == null
+                            ? insert.bindNull("description", String.class)
+                            : insert.bind("description", request.description());
+                    return insert.fetch().rowsUpdated().then(findById(id));
+                });
+    }
+
+    public Mono<Long> updatePrice(Long id, BigDecimal price) {
+        return databaseClient.sql("update products set price = :price, updated_at = CURRENT_TIMESTAMP where id = :id")
+                .bind("price", price)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("delete from products where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static ProductResponse toResponse(Row row, RowMetadata metadata) {
+        return new ProductResponse(
+                row.get("id", Long.class),
+                row.get("sku", String.class),
+                row.get("name", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("currency", String.class),
+                row.get("description", String.class)
+        );
+    }
+}
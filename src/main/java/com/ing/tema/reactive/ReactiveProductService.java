@@ -0,0 +1,91 @@
+package com.ing.tema.reactive;
+
+import com.ing.tema.dtos.ChangePriceRequest;
+import com.ing.tema.dtos.CreateProductRequest;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.exceptions.ProductAlreadyExistsException;
+import com.ing.tema.exceptions.ProductNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * Same operations and rules as {@link com.ing.tema.services.ProductService}; each mutation registers its
+ * idempotency key and changes the product in one R2DBC transaction.
+ */
+@Service
+@Profile(ReactiveTemaApplication.PROFILE)
+public class ReactiveProductService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveProductService.class);
+
+    private final ReactiveProductRepository productRepository;
+    private final ReactiveIdempotencyService idempotencyService;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveProductService(ReactiveProductRepository productRepository,
+                                  ReactiveIdempotencyService idempotencyService,
+                                  TransactionalOperator transactionalOperator) {
+        this.productRepository = productRepository;
+        this.idempotencyService = idempotencyService;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public Mono<ProductResponse> createProduct(CreateProductRequest request,
+                                               String idempotencyKey,
+                                               Principal principal,
+                                               String path) {
+        return idempotencyService.registerOrThrow(idempotencyKey, principal.getName(), "POST", path)
+                .then(productRepository.existsBySku(request.sku()))
+                .flatMap(exists -> exists
+                        ? Mono.<ProductResponse>error(new ProductAlreadyExistsException(request.sku()))
+                        : productRepository.insert(request))
+                .doOnNext(product -> log.info("Created product id={} sku={}", product.id(), product.sku()))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<ProductResponse> getProductById(Long id) {
+        return productRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)));
+    }
+
+    public Mono<ProductResponse> getProductBySku(String sku) {
+        return productRepository.findBySku(sku)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(sku)));
+    }
+
+    public Flux<ProductResponse> listProducts() {
+        return productRepository.findAll();
+    }
+
+    public Mono<ProductResponse> changePrice(Long id,
+                                             ChangePriceRequest request,
+                                             String idempotencyKey,
+                                             Principal principal,
+                                             String path) {
+        return idempotencyService.registerOrThrow(idempotencyKey, principal.getName(), "PUT", path)
+                .then(getProductById(id))
+                .flatMap(product -> productRepository.updatePrice(id, request.newPrice()))
+                .then(productRepository.findById(id))
+                .doOnNext(product -> log.info("Changed price for product id={} newPrice={}", product.id(), product.price()))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> deleteProduct(Long id,
+                                    String idempotencyKey,
+                                    Principal principal,
+                                    String path) {
+        return idempotencyService.registerOrThrow(idempotencyKey, principal.getName(), "DELETE", path)
+                .then(getProductById(id))
+                .flatMap(product -> productRepository.deleteById(id))
+                .doOnNext(rows -> log.info("Deleted product id={}", id))
+                .then()
+                .as(transactionalOperator::transactional);
+    }
+}
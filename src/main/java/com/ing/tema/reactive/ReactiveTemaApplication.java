@@ -0,0 +1,31 @@
+package com.ing.tema.reactive;
+
+import com.ing.tema.services.JwtService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Reactive variant of the product API: WebFlux on Netty with R2DBC against the same H2 schema,
+ * the same DTOs, idempotency keys and JWTs as the servlet application. It only scans this package,
+ * and its beans are all {@code @Profile("reactive")} so the servlet application ignores them.
+ * <p>
+ * Run with a small event-loop pool to compare against the servlet version, e.g.
+ * {@code -Dreactor.netty.ioWorkerCount=2}; see {@code application-reactive.properties}.
+ */
+@SpringBootApplication
+@Profile(ReactiveTemaApplication.PROFILE)
+@Import(JwtService.class)
+public class ReactiveTemaApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveTemaApplication.class)
+                .profiles(PROFILE)
+                .web(WebApplicationType.REACTIVE)
+                .run(args);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ing.tema.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Loads users and roles over R2DBC with the same {@code ROLE_} authorities as
+ * {@link com.ing.tema.services.CustomUserDetailsService}.
+ */
+@Service
+@Profile(ReactiveTemaApplication.PROFILE)
+public class ReactiveUserAccountService implements ReactiveUserDetailsService {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserAccountService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    private record UserRow(Long id, String username, String password, boolean enabled) {
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return databaseClient.sql("select id, username, password, enabled from users where username = :username")
+                .bind("username", username)
+                .map((row, metadata) -> new UserRow(
+                        row.get("id", Long.class),
+                        row.get("username", String.class),
+                        row.get("password", String.class),
+                        Boolean.TRUE.equals(row.get("enabled", Boolean.class))
+                ))
+                .one()
+                .flatMap(user -> databaseClient.sql("select role from user_roles where user_id = :userId")
+                        .bind("userId", user.id())
+                        .map((row, metadata) -> "ROLE_" + row.get("role", String.class))
+                        .all()
+                        .collectList()
+                        .map(authorities -> User.builder()
+                                .username(user.username())
+                                .password(user.password())
+                                .authorities(authorities.toArray(String[]::new))
+                                .disabled(!user.enabled())
+                                .build()));
+    }
+}
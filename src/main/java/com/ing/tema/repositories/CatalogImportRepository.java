@@ -0,0 +1,181 @@
+package com.ing.tema.repositories;
+
+import com.ing.tema.dtos.ProductResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plain JDBC for catalog imports: the {@code catalog_imports} progress rows, and batched product
+ * inserts and updates that bypass Hibernate so a chunk costs two batches instead of a flush per entity.
+ */
+@Repository
+public class CatalogImportRepository {
+
+    private static final String SELECT_IMPORT = """
+            select id, owner, import_key, format, status, rows_committed, inserted, updated, unchanged, rejected,
+                   last_error, updated_at
+            from catalog_imports
+            where owner = ? and import_key = ?
+            """;
+
+    private static final String INSERT_PRODUCT = """
+            insert into products (id, sku, name, price, currency, description, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_PRODUCT = """
+            update products set name = ?, price = ?, currency = ?, description = ?, updated_at = ?
+            where id = ?
+            """;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public record ImportState(long id, String owner, String importKey, String format, Status status,
+                              long rowsCommitted, long inserted, long updated, long unchanged, long rejected,
+                              String lastError, Instant updatedAt) {
+    }
+
+    private static final RowMapper<ImportState> IMPORT_ROW_MAPPER = (rs, rowNum) -> new ImportState(
+            rs.getLong("id"),
+            rs.getString("owner"),
+            rs.getString("import_key"),
+            rs.getString("format"),
+            Status.valueOf(rs.getString("status")),
+            rs.getLong("rows_committed"),
+            rs.getLong("inserted"),
+            rs.getLong("updated"),
+            rs.getLong("unchanged"),
+            rs.getLong("rejected"),
+            rs.getString("last_error"),
+            rs.getTimestamp("updated_at").toInstant()
+    );
+
+    private static final RowMapper<ProductResponse> PRODUCT_ROW_MAPPER = (rs, rowNum) -> new ProductResponse(
+            rs.getLong("id"),
+            rs.getString("sku"),
+            rs.getString("name"),
+            rs.getBigDecimal("price"),
+            rs.getString("currency"),
+            rs.getString("description")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public CatalogImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public Optional<ImportState> find(String owner, String importKey) {
+        return jdbcTemplate.query(SELECT_IMPORT, IMPORT_ROW_MAPPER, owner, importKey).stream().findFirst();
+    }
+
+    /**
+     * Starts a new import in {@link Status#RUNNING}; a concurrent start under the same key fails on
+     * the unique constraint with a {@link org.springframework.dao.DuplicateKeyException}.
+     */
+    public ImportState create(String owner, String importKey, String format, Instant now) {
+        jdbcTemplate.update("""
+                        insert into catalog_imports
+                            (owner, import_key, format, status, rows_committed, inserted, updated, unchanged, rejected,
+                             created_at, updated_at)
+                        values (?, ?, ?, ?, 0, 0, 0, 0, 0, ?, ?)
+                        """,
+                owner, importKey, format, Status.RUNNING.name(), Timestamp.from(now), Timestamp.from(now));
+        return find(owner, importKey).orElseThrow();
+    }
+
+    /**
+     * Moves a finished, failed or abandoned import back to running. False when another request is
+     * still working on it, i.e. it is running and has committed since {@code staleBefore}.
+     */
+    public boolean resume(long id, Instant now, Instant staleBefore) {
+        return jdbcTemplate.update("""
+                        update catalog_imports set status = ?, last_error = null, updated_at = ?
+                        where id = ? and (status <> ? or updated_at < ?)
+                        """,
+                Status.RUNNING.name(), Timestamp.from(now), id, Status.RUNNING.name(), Timestamp.from(staleBefore)) == 1;
+    }
+
+    public void recordChunk(long id, long rows, long inserted, long updated, long unchanged, long rejected, Instant now) {
+        jdbcTemplate.update("""
+                        update catalog_imports
+                        set rows_committed = rows_committed + ?, inserted = inserted + ?, updated = updated + ?,
+                            unchanged = unchanged + ?, rejected = rejected + ?, updated_at = ?
+                        where id = ?
+                        """,
+                rows, inserted, updated, unchanged, rejected, Timestamp.from(now), id);
+    }
+
+    public void finish(long id, Status status, String lastError, Instant now) {
+        jdbcTemplate.update("update catalog_imports set status = ?, last_error = ?, updated_at = ? where id = ?",
+                status.name(), lastError, Timestamp.from(now), id);
+    }
+
+    public Map<String, ProductResponse> findProductsBySku(Collection<String> skus) {
+        Map<String, ProductResponse> products = new HashMap<>();
+        if (skus.isEmpty()) {
+            return products;
+        }
+        namedJdbcTemplate.query(
+                "select id, sku, name, price, currency, description from products where sku in (:skus)",
+                Map.of("skus", skus),
+                PRODUCT_ROW_MAPPER
+        ).forEach(product -> products.put(product.sku(), product));
+        return products;
+    }
+
+    /**
+     * The upper end of a fresh block of product ids, handed out the way Hibernate's pooled
+     * optimizer does: the block is {@code (value - allocationSize, value]}.
+     */
+    public long nextProductIdBlock() {
+        Long value = jdbcTemplate.queryForObject("select nextval('products_seq')", Long.class);
+        if (value == null) {
+            throw new IllegalStateException("products_seq returned no value");
+        }
+        return value;
+    }
+
+    public void insertProducts(List<ProductResponse> products, Instant now) {
+        if (products.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.from(now);
+        List<Object[]> rows = new ArrayList<>(products.size());
+        for (ProductResponse product : products) {
+            rows.add(new Object[]{product.id(), product.sku(), product.name(), product.price(), product.currency(),
+                    product.description(), timestamp, timestamp});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, rows);
+    }
+
+    public void updateProducts(List<ProductResponse> products, Instant now) {
+        if (products.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.from(now);
+        List<Object[]> rows = new ArrayList<>(products.size());
+        for (ProductResponse product : products) {
+            rows.add(new Object[]{product.name(), product.price(), product.currency(), product.description(),
+                    timestamp, product.id()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_PRODUCT, rows);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ing.tema.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+@NoRepositoryBean
+public interface NaturalIdRepository<T, ID> extends JpaRepository<T, ID> {
+
+    /**
+     * Load by the entity's {@code @NaturalId}, going through the natural-id and entity caches first.
+     */
+    Optional<T> findBySimpleNaturalId(Object naturalId);
+}
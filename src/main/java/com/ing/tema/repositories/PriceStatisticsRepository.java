@@ -0,0 +1,59 @@
+package com.ing.tema.repositories;
+
+import com.ing.tema.money.MinorUnits;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-currency price aggregates computed by the database in a single pass over {@code products}, so only
+ * one row per currency comes back however large the catalog is.
+ */
+@Repository
+public class PriceStatisticsRepository {
+
+    /**
+     * Prices in minor units; {@code bandCounts[i]} counts the prices below {@code bandEdges[i]} and at or
+     * above the previous edge, with a final band for everything from the last edge up.
+     */
+    public record CurrencyAggregate(String currency, long count, long min, long max, long sum, long[] bandCounts) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceStatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<CurrencyAggregate> aggregateByCurrency(long[] bandEdges) {
+        StringBuilder sql = new StringBuilder("select currency, count(*) as product_count, min(price) as min_price, "
+                + "max(price) as max_price, sum(price) as sum_price");
+        for (int i = 0; i < bandEdges.length; i++) {
+            sql.append(", sum(case when price < ? then 1 else 0 end) as below_").append(i);
+        }
+        sql.append(" from products group by currency order by currency");
+        Object[] edges = Arrays.stream(bandEdges).mapToObj(MinorUnits::toBigDecimal).toArray();
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            long count = rs.getLong("product_count");
+            long[] bandCounts = new long[bandEdges.length + 1];
+            long below = 0;
+            for (int i = 0; i < bandEdges.length; i++) {
+                long belowEdge = rs.getLong("below_" + i);
+                bandCounts[i] = belowEdge - below;
+                below = belowEdge;
+            }
+            bandCounts[bandEdges.length] = count - below;
+            return new CurrencyAggregate(
+                    rs.getString("currency"),
+                    count,
+                    MinorUnits.fromBigDecimal(rs.getBigDecimal("min_price")),
+                    MinorUnits.fromBigDecimal(rs.getBigDecimal("max_price")),
+                    MinorUnits.fromBigDecimal(rs.getBigDecimal("sum_price")),
+                    bandCounts
+            );
+        }, edges);
+    }
+}
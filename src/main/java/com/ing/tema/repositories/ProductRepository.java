@@ -2,13 +2,29 @@
 package com.ing.tema.repositories;
 
 import com.ing.tema.entities.Product;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends NaturalIdRepository<Product, Long> {
 
-    Optional<Product> findBySku(String sku);
+    default Optional<Product> findBySku(String sku) {
+        return findBySimpleNaturalId(sku);
+    }
 
     boolean existsBySku(String sku);
+
+    List<Product> findByUpdatedAtAfter(Instant watermark);
+
+    @Query("select p.id from Product p")
+    List<Long> findAllIds();
+
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Product> findAll();
 }
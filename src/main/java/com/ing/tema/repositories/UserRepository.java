@@ -1,10 +1,12 @@
 package com.ing.tema.repositories;
 
 import com.ing.tema.entities.UserEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
-    Optional<UserEntity> findByUsername(String username);
+public interface UserRepository extends NaturalIdRepository<UserEntity, Long> {
+
+    default Optional<UserEntity> findByUsername(String username) {
+        return findBySimpleNaturalId(username);
+    }
 }
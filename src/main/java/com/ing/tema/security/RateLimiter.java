@@ -0,0 +1,130 @@
+package com.ing.tema.security;
+
+import com.ing.tema.configuration.RateLimitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Token-bucket rate limits per endpoint group, keyed by principal or client IP.
+ * <p>
+ * Each group keeps its buckets in a {@link ConcurrentHashMap}, whose bins are locked independently, and
+ * a bucket update is a single CAS, so an admitted request costs a pattern match, a map lookup and one
+ * compare-and-set. Buckets that have stayed full for {@code store.rate-limit.idle-timeout} are swept.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final boolean enabled;
+    private final long idleNanos;
+    private final List<Limit> limits;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.enabled = properties.isEnabled();
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+        this.limits = properties.getGroups().stream().map(Limit::new).toList();
+        this.nanoClock = nanoClock;
+    }
+
+    private static final class Limit {
+
+        private final String name;
+        private final List<PathPattern> paths;
+        private final Set<String> methods;
+        private final RateLimitProperties.KeyType key;
+        private final long emissionInterval;
+        private final long burstTolerance;
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private Limit(RateLimitProperties.Group group) {
+            if (group.getCapacity() < 1 || group.getRefillTokens() < 1) {
+                throw new IllegalArgumentException("Rate limit group " + group.getName() + " needs a positive capacity and refill");
+            }
+            this.name = group.getName();
+            this.paths = group.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.methods = group.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.key = group.getKey();
+            this.emissionInterval = Math.max(1, group.getRefillPeriod().toNanos() / group.getRefillTokens());
+            this.burstTolerance = emissionInterval * (group.getCapacity() - 1);
+        }
+
+        private boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : paths) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Takes a token for the request.
+     *
+     * @param principal the authenticated principal name, or null for anonymous requests
+     * @return 0 if the request may proceed, otherwise the nanoseconds until the client should retry
+     */
+    public long tryAcquire(String method, String path, String principal, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Limit limit : limits) {
+            if (limit.matches(method, pathContainer)) {
+                String bucketKey = limit.key == RateLimitProperties.KeyType.PRINCIPAL && principal != null
+                        ? principal
+                        : clientIp;
+                long now = nanoClock.getAsLong();
+                TokenBucket bucket = limit.buckets.get(bucketKey);
+                if (bucket == null) {
+                    bucket = limit.buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(now));
+                }
+                return bucket.tryAcquire(now, limit.emissionInterval, limit.burstTolerance);
+            }
+        }
+        return 0;
+    }
+
+    @Scheduled(fixedDelayString = "${store.rate-limit.idle-timeout:10m}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        for (Limit limit : limits) {
+            int before = limit.buckets.size();
+            limit.buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            int evicted = before - limit.buckets.size();
+            if (evicted > 0) {
+                log.debug("Evicted {} idle rate-limit buckets from group {}", evicted, limit.name);
+            }
+        }
+    }
+
+    int bucketCount() {
+        return limits.stream().mapToInt(limit -> limit.buckets.size()).sum();
+    }
+}
@@ -0,0 +1,41 @@
+package com.ing.tema.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single "theoretical arrival time" (the generic cell rate algorithm):
+ * each token pushes it forward by one emission interval, and a request is admitted while it is no more
+ * than {@code capacity - 1} intervals ahead of now. Taking a token is one CAS.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(long now, long emissionInterval, long burstTolerance) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long start = Math.max(current, now);
+            long ahead = start - now;
+            if (ahead > burstTolerance) {
+                return ahead - burstTolerance;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + emissionInterval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * True once the bucket has been full for at least {@code idleNanos}.
+     */
+    boolean isIdle(long now, long idleNanos) {
+        return now - theoreticalArrival.get() >= idleNanos;
+    }
+}
@@ -0,0 +1,213 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.CatalogExportProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the whole catalog as CSV or NDJSON straight from a forward-only cursor.
+ * <p>
+ * Rows are formatted as they arrive, without entities or an intermediate list, so memory stays at
+ * one fetch of rows plus the write buffer however large the catalog is. The query runs in a
+ * read-only transaction: that routes it to a replica when one is configured, and keeps the
+ * connection out of autocommit, which PostgreSQL needs before it honours the fetch size.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogExportService.class);
+
+    private static final String SELECT = """
+            select id, sku, name, price, currency, description
+            from products
+            order by id
+            """;
+
+    static final String CSV_HEADER = "id,sku,name,price,currency,description";
+
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory;
+    private final int bufferSize;
+
+    public CatalogExportService(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                CatalogExportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+        this.bufferSize = Math.toIntExact(properties.getBufferSize().toBytes());
+    }
+
+    /**
+     * Streams every product to {@code out} and returns how many were written. {@code out} is
+     * flushed after the first row so the client sees bytes immediately, and left open.
+     */
+    public long export(Format format, boolean gzip, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, bufferSize, true) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), bufferSize);
+
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer, jsonFactory);
+        long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> {
+                long[] count = {0};
+                jdbcTemplate.query(SELECT, rs -> {
+                    try {
+                        rowWriter.write(rs);
+                        if (++count[0] == 1) {
+                            rowWriter.flush();
+                            writer.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                return count[0];
+            });
+            rowWriter.flush();
+        } catch (UncheckedIOException ex) {
+            // most likely the client went away; the read-only transaction has already rolled back
+            throw ex.getCause();
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} products as {}{} in {} ms", rows, format, gzip ? " (gzip)" : "",
+                (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writeField(rs.getString("sku"));
+            writer.write(',');
+            writeField(rs.getString("name"));
+            writer.write(',');
+            writer.write(rs.getBigDecimal("price").toPlainString());
+            writer.write(',');
+            writeField(rs.getString("currency"));
+            writer.write(',');
+            writeField(rs.getString("description"));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        // RFC 4180: quote fields containing a separator, quote or line break, doubling inner quotes
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer, JsonFactory jsonFactory) throws IOException {
+            this.generator = jsonFactory.createGenerator(writer);
+            // rows are separated by the newline written after each, not by the default space
+            this.generator.setRootValueSeparator(null);
+            // flushing and closing the response stays with export()
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("sku", rs.getString("sku"));
+            generator.writeStringField("name", rs.getString("name"));
+            generator.writeNumberField("price", rs.getBigDecimal("price"));
+            generator.writeStringField("currency", rs.getString("currency"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        // into the writer only; its buffer decides when bytes reach the socket
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
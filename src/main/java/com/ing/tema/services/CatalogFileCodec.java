@@ -0,0 +1,131 @@
+package com.ing.tema.services;
+
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.entities.Product;
+import com.ing.tema.money.MinorUnits;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary catalog file.
+ * <pre>
+ * header : int magic, short formatVersion, long writtenAt, long watermark, int count
+ * record : long id, long priceMinor, long updatedAt,
+ *          str sku, str name, str currency, str description
+ * str    : int length (-1 for null), UTF-8 bytes
+ * </pre>
+ * {@code watermark} is the newest {@code updated_at} in the file, in epoch millis.
+ */
+final class CatalogFileCodec {
+
+    static final int MAGIC = 0x54434154; // "TCAT"
+    static final short FORMAT_VERSION = 2;
+
+    private CatalogFileCodec() {
+    }
+
+    record Snapshot(Instant writtenAt, Instant watermark, List<ProductResponse> products) {
+    }
+
+    /**
+     * Write all products to {@code path}, replacing any previous file atomically.
+     */
+    static Instant write(Path path, List<Product> products) throws IOException {
+        long watermark = 0;
+        for (Product product : products) {
+            if (product.getUpdatedAt() != null) {
+                watermark = Math.max(watermark, product.getUpdatedAt().toEpochMilli());
+            }
+        }
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(watermark);
+            out.writeInt(products.size());
+
+            for (Product product : products) {
+                out.writeLong(product.getId());
+                out.writeLong(product.getPriceMinor());
+                out.writeLong(product.getUpdatedAt() == null ? 0 : product.getUpdatedAt().toEpochMilli());
+                writeString(out, product.getSku());
+                writeString(out, product.getName());
+                writeString(out, product.getCurrency());
+                writeString(out, product.getDescription());
+            }
+        }
+
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Instant.ofEpochMilli(watermark);
+    }
+
+    static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            short formatVersion = buffer.getShort();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + formatVersion + ": " + path);
+            }
+
+            Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+            Instant watermark = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+
+            List<ProductResponse> products = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long priceMinor = buffer.getLong();
+                buffer.getLong(); // updatedAt, only needed for the watermark
+                String sku = readString(buffer);
+                String name = readString(buffer);
+                String currency = readString(buffer);
+                String description = readString(buffer);
+
+                products.add(new ProductResponse(id, sku, name, MinorUnits.toBigDecimal(priceMinor), currency, description));
+            }
+
+            return new Snapshot(writtenAt, watermark, products);
+        } catch (BufferUnderflowException ex) {
+            throw new IOException("Truncated catalog snapshot: " + path, ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package com.ing.tema.services;
+
+import com.ing.tema.configuration.CatalogFileProperties;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.repositories.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Periodically exports the catalog to a binary file and, on startup, memory-maps the last export
+ * into {@link ProductResponseCache} before the web server starts taking requests. Rows changed after
+ * the file's watermark, less {@code store.catalog-file.catch-up-margin} for transactions that
+ * committed after the export with an earlier {@code updated_at}, are then re-read from the database
+ * and products deleted since are evicted.
+ */
+@Service
+@ConditionalOnProperty(prefix = "store.catalog-file", name = "enabled", havingValue = "true")
+public class CatalogFileService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogFileService.class);
+
+    private final CatalogFileProperties properties;
+    private final ProductRepository productRepository;
+    private final ProductResponseCache responseCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CatalogFileService(CatalogFileProperties properties,
+                              ProductRepository productRepository,
+                              ProductResponseCache responseCache,
+                              PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.productRepository = productRepository;
+        this.responseCache = responseCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Path path = properties.getPath();
+        if (!Files.isReadable(path)) {
+            log.info("No catalog snapshot at {}, starting cold", path);
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            CatalogFileCodec.Snapshot snapshot = CatalogFileCodec.read(path);
+            responseCache.preload(snapshot.products());
+
+            int caughtUp = readOnlyTransaction.execute(status -> catchUp(snapshot.watermark()));
+
+            log.info("Warmed {} products from catalog snapshot written at {}, {} newer rows caught up in {} ms",
+                    snapshot.products().size(), snapshot.writtenAt(), caughtUp, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not load catalog snapshot {}: {}", path, ex.getMessage());
+            responseCache.clear();
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${store.catalog-file.export-interval:5m}",
+            fixedDelayString = "${store.catalog-file.export-interval:5m}"
+    )
+    public void export() {
+        try {
+            Instant watermark = readOnlyTransaction.execute(status -> {
+                try {
+                    return CatalogFileCodec.write(properties.getPath(), productRepository.findAll());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            log.debug("Exported catalog snapshot to {}, watermark={}", properties.getPath(), watermark);
+        } catch (RuntimeException ex) {
+            log.warn("Catalog snapshot export to {} failed: {}", properties.getPath(), ex.getMessage());
+        }
+    }
+
+    private int catchUp(Instant watermark) {
+        Instant since = watermark.minus(properties.getCatchUpMargin());
+        List<ProductResponse> changed = productRepository.findByUpdatedAtAfter(since).stream()
+                .map(ProductService::toResponse)
+                .toList();
+        responseCache.preload(changed);
+
+        Set<Long> existing = new HashSet<>(productRepository.findAllIds());
+        responseCache.retainProducts(existing);
+        return changed.size();
+    }
+}
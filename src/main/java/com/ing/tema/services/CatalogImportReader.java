@@ -0,0 +1,184 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.ing.tema.money.MinorUnits;
+import com.ing.tema.services.CatalogExportService.Format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+/**
+ * Pulls one validated row at a time from an uploaded catalog, CSV with a header line or NDJSON.
+ * <p>
+ * Both formats go through Jackson's token stream: the CSV parser presents each line as an object
+ * keyed by the header, so one loop reads either, and nothing beyond the current row is held.
+ * Unknown columns (such as the {@code id} of an export) are ignored. A row that fails validation
+ * comes back with {@link Row#error()} set; only input that cannot be tokenised ends the read with a
+ * {@link com.fasterxml.jackson.core.JsonProcessingException}.
+ */
+final class CatalogImportReader implements AutoCloseable {
+
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+    private static final int MAX_SKU = 64;
+    private static final int MAX_NAME = 128;
+    private static final int MAX_DESCRIPTION = 512;
+
+    /**
+     * {@code record} is 1-based and counts data rows only, not the CSV header.
+     */
+    record Row(long record, String sku, String name, BigDecimal price, String currency, String description,
+               String error) {
+    }
+
+    private final JsonParser parser;
+    private long record;
+
+    CatalogImportReader(Format format, InputStream in, JsonFactory jsonFactory, CsvMapper csvMapper) throws IOException {
+        if (format == Format.CSV) {
+            CsvParser csvParser = csvMapper.getFactory().createParser(in);
+            csvParser.setSchema(CsvSchema.emptySchema().withHeader());
+            csvParser.enable(CsvParser.Feature.SKIP_EMPTY_LINES);
+            this.parser = csvParser;
+        } else {
+            this.parser = jsonFactory.createParser(in);
+        }
+    }
+
+    /**
+     * Reads past {@code records} rows without validating them, e.g. those committed by an earlier attempt.
+     */
+    long skip(long records) throws IOException {
+        long skipped = 0;
+        while (skipped < records && nextObject()) {
+            parser.skipChildren();
+            record++;
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * The next row, or null at the end of the input.
+     */
+    Row next() throws IOException {
+        if (!nextObject()) {
+            return null;
+        }
+        record++;
+
+        String sku = null;
+        String name = null;
+        String price = null;
+        String currency = null;
+        String description = null;
+        String error = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isStructStart()) {
+                parser.skipChildren();
+                error = field + " must be a scalar value";
+                continue;
+            }
+            switch (field) {
+                case "sku" -> sku = text(value);
+                case "name" -> name = text(value);
+                case "price" -> price = text(value);
+                case "currency" -> currency = text(value);
+                case "description" -> description = text(value);
+                default -> {
+                    // ignored, e.g. the id column of an export
+                }
+            }
+        }
+
+        BigDecimal amount = null;
+        if (error == null) {
+            try {
+                amount = parsePrice(price);
+            } catch (IllegalArgumentException ex) {
+                error = ex.getMessage();
+            }
+        }
+        if (error == null) {
+            error = validate(sku, name, currency, description);
+        }
+        return new Row(record, sku, name, amount, currency, description, error);
+    }
+
+    long record() {
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private boolean nextObject() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected one object per row, found " + token);
+        }
+        return true;
+    }
+
+    private String text(JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        String text = parser.getValueAsString();
+        return text == null || text.isBlank() ? null : text.trim();
+    }
+
+    private static BigDecimal parsePrice(String price) {
+        if (price == null) {
+            throw new IllegalArgumentException("price is required");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(price);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("price is not a number: " + price);
+        }
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+        // rounds half-up to cents as the column does, and rejects what NUMERIC(19,2) cannot hold
+        return MinorUnits.toBigDecimal(MinorUnits.fromBigDecimal(amount));
+    }
+
+    private static String validate(String sku, String name, String currency, String description) {
+        if (sku == null) {
+            return "sku is required";
+        }
+        if (sku.length() > MAX_SKU) {
+            return "sku is longer than " + MAX_SKU + " characters";
+        }
+        if (name == null) {
+            return "name is required";
+        }
+        if (name.length() > MAX_NAME) {
+            return "name is longer than " + MAX_NAME + " characters";
+        }
+        if (currency == null || !CURRENCY.matcher(currency).matches()) {
+            return "currency must be a three-letter ISO code";
+        }
+        if (description != null && description.length() > MAX_DESCRIPTION) {
+            return "description is longer than " + MAX_DESCRIPTION + " characters";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,339 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.ing.tema.configuration.CatalogImportProperties;
+import com.ing.tema.dtos.CatalogImportResponse;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.entities.Product;
+import com.ing.tema.events.AuditedActionEvent;
+import com.ing.tema.events.AuditedActionEvent.Action;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.exceptions.CatalogImportInProgressException;
+import com.ing.tema.exceptions.CatalogImportNotFoundException;
+import com.ing.tema.exceptions.MalformedCatalogImportException;
+import com.ing.tema.repositories.CatalogImportRepository;
+import com.ing.tema.repositories.CatalogImportRepository.ImportState;
+import com.ing.tema.repositories.CatalogImportRepository.Status;
+import com.ing.tema.services.CatalogExportService.Format;
+import com.ing.tema.services.CatalogImportReader.Row;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Upserts an uploaded catalog by SKU in chunks, each chunk one transaction.
+ * <p>
+ * Rows are read one at a time and buffered only up to {@code store.catalog-import.chunk-size}, so
+ * memory does not grow with the upload. The request thread does the database work itself, so it
+ * stops reading the upload while a chunk commits and the client is slowed down by TCP flow control
+ * rather than by a queue growing on the server.
+ * <p>
+ * Each chunk commits together with the import's progress row, so {@code rows_committed} is exactly
+ * the number of rows already applied. Uploading the same file again under the same import id skips
+ * those rows and carries on; a completed import is not applied twice. Within one chunk a repeated
+ * SKU is applied once, with its last values.
+ * <p>
+ * Writes go through JDBC batches, not Hibernate, so the second-level cache entries of updated products
+ * are evicted by the chunk's transaction itself, before anything hears about the commit. The created
+ * and changed products of a chunk are then published together as one {@link ProductBatchChangedEvent},
+ * so the response cache, off-heap store, statistics, audit log and other nodes catch up once per chunk
+ * rather than once per row. Starting, resuming, completing and failing the import itself are published
+ * as {@link AuditedActionEvent}s.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final String IMPORT_PATH = "/api/products/import";
+    private static final int MAX_IMPORT_ID = 255;
+    private static final int MAX_LAST_ERROR = 1024;
+
+    // must match the allocationSize of Product's id generator and the increment of products_seq
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final CatalogImportRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transaction;
+    private final JsonFactory jsonFactory;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final CatalogImportProperties properties;
+
+    public CatalogImportService(CatalogImportRepository repository,
+                                ApplicationEventPublisher eventPublisher,
+                                EntityManagerFactory entityManagerFactory,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                CatalogImportProperties properties) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.jsonFactory = objectMapper.getFactory();
+        this.properties = properties;
+    }
+
+    public CatalogImportResponse importCatalog(Format format, InputStream in, String importId, String owner)
+            throws IOException {
+        if (importId == null || importId.isBlank() || importId.length() > MAX_IMPORT_ID) {
+            throw new IllegalArgumentException("Import id must be between 1 and " + MAX_IMPORT_ID + " characters");
+        }
+
+        ProductChangedEvent.Actor actor = new ProductChangedEvent.Actor(owner, "POST", IMPORT_PATH, importId);
+        ImportState state = claim(format, importId, actor);
+        if (state.status() == Status.COMPLETED) {
+            log.info("Catalog import {} already completed, nothing to do", importId);
+            return toResponse(state, List.of());
+        }
+
+        long start = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+        IdBlock ids = new IdBlock();
+
+        try (CatalogImportReader reader = new CatalogImportReader(format, in, jsonFactory, csvMapper)) {
+            if (reader.skip(state.rowsCommitted()) > 0) {
+                log.info("Resuming catalog import {} after {} committed rows", importId, state.rowsCommitted());
+            }
+
+            List<Row> chunk = new ArrayList<>(properties.getChunkSize());
+            Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == properties.getChunkSize()) {
+                    commitChunk(state.id(), chunk, ids, actor, errors);
+                    chunk.clear();
+                    log.debug("Catalog import {}: {} rows read", importId, reader.record());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(state.id(), chunk, ids, actor, errors);
+            }
+        } catch (JsonProcessingException ex) {
+            ImportState failed = fail(state, actor, ex);
+            throw new MalformedCatalogImportException(importId, failed.rowsCommitted(), ex);
+        } catch (IOException | RuntimeException ex) {
+            // the client went away or a chunk failed; committed chunks stay and the next upload resumes after them
+            fail(state, actor, ex);
+            throw ex;
+        }
+
+        repository.finish(state.id(), Status.COMPLETED, null, Instant.now());
+        eventPublisher.publishEvent(new AuditedActionEvent(Action.IMPORT_COMPLETED, actor));
+        ImportState completed = current(importId, owner);
+        log.info("Catalog import {} completed in {} ms: {} inserted, {} updated, {} unchanged, {} rejected",
+                importId, (System.nanoTime() - start) / 1_000_000,
+                completed.inserted(), completed.updated(), completed.unchanged(), completed.rejected());
+        return toResponse(completed, errors);
+    }
+
+    public CatalogImportResponse getImport(String importId, String owner) {
+        return toResponse(current(importId, owner), List.of());
+    }
+
+    private ImportState claim(Format format, String importId, ProductChangedEvent.Actor actor) {
+        Instant now = Instant.now();
+        String owner = actor.principal();
+        ImportState state = repository.find(owner, importId).orElse(null);
+        if (state == null) {
+            try {
+                ImportState created = repository.create(owner, importId, format.name(), now);
+                eventPublisher.publishEvent(new AuditedActionEvent(Action.IMPORT_STARTED, actor));
+                return created;
+            } catch (DuplicateKeyException ex) {
+                throw new CatalogImportInProgressException(importId);
+            }
+        }
+
+        if (!state.format().equals(format.name())) {
+            throw new IllegalArgumentException("Import " + importId + " was started as " + state.format());
+        }
+        if (state.status() == Status.COMPLETED) {
+            return state;
+        }
+        if (!repository.resume(state.id(), now, now.minus(properties.getStaleAfter()))) {
+            throw new CatalogImportInProgressException(importId);
+        }
+        eventPublisher.publishEvent(new AuditedActionEvent(Action.IMPORT_RESUMED, actor));
+        return state;
+    }
+
+    private void commitChunk(long importRowId,
+                             List<Row> chunk,
+                             IdBlock ids,
+                             ProductChangedEvent.Actor actor,
+                             List<String> errors) {
+        transaction.executeWithoutResult(status -> {
+            Map<String, Row> valid = new LinkedHashMap<>();
+            long rejected = 0;
+            for (Row row : chunk) {
+                if (row.error() == null) {
+                    valid.put(row.sku(), row);
+                    continue;
+                }
+                rejected++;
+                if (errors.size() < properties.getMaxReportedErrors()) {
+                    errors.add("record %d%s: %s".formatted(row.record(), row.sku() == null ? "" : " (" + row.sku() + ")", row.error()));
+                }
+            }
+
+            Map<String, ProductResponse> existing = repository.findProductsBySku(valid.keySet());
+            List<ProductResponse> inserts = new ArrayList<>();
+            List<ProductResponse> updates = new ArrayList<>();
+            List<ProductChangedEvent> events = new ArrayList<>();
+            long unchanged = 0;
+
+            for (Row row : valid.values()) {
+                ProductResponse before = existing.get(row.sku());
+                if (before == null) {
+                    ProductResponse after = toProduct(ids.next(), row);
+                    inserts.add(after);
+                    events.add(ProductChangedEvent.created(after, actor));
+                } else {
+                    ProductResponse after = toProduct(before.id(), row);
+                    if (sameContent(before, after)) {
+                        unchanged++;
+                    } else {
+                        updates.add(after);
+                        events.add(!before.money().equals(after.money())
+                                ? ProductChangedEvent.priceChanged(before, after, actor)
+                                : ProductChangedEvent.updated(before, after, actor));
+                    }
+                }
+            }
+
+            Instant now = Instant.now();
+            repository.insertProducts(inserts, now);
+            repository.updateProducts(updates, now);
+            repository.recordChunk(importRowId, chunk.size(), inserts.size(), updates.size(), unchanged, rejected, now);
+            TransactionSynchronizationManager.registerSynchronization(
+                    new SecondLevelCacheEviction(updates.stream().map(ProductResponse::id).toList()));
+            if (!events.isEmpty()) {
+                // delivered to AFTER_COMMIT listeners once this chunk commits
+                eventPublisher.publishEvent(new ProductBatchChangedEvent(List.copyOf(events), now, actor));
+            }
+        });
+    }
+
+    private ImportState fail(ImportState state, ProductChangedEvent.Actor actor, Exception cause) {
+        try {
+            String message = Objects.requireNonNullElse(cause.getMessage(), cause.getClass().getName());
+            repository.finish(state.id(), Status.FAILED,
+                    message.length() > MAX_LAST_ERROR ? message.substring(0, MAX_LAST_ERROR) : message, Instant.now());
+            eventPublisher.publishEvent(new AuditedActionEvent(Action.IMPORT_FAILED, actor));
+            return current(state.importKey(), state.owner());
+        } catch (RuntimeException ex) {
+            log.warn("Could not mark catalog import {} as failed: {}", state.importKey(), ex.getMessage());
+            return state;
+        }
+    }
+
+    private ImportState current(String importId, String owner) {
+        return repository.find(owner, importId).orElseThrow(() -> new CatalogImportNotFoundException(importId));
+    }
+
+    private static ProductResponse toProduct(long id, Row row) {
+        return new ProductResponse(id, row.sku(), row.name(), row.price(), row.currency(), row.description());
+    }
+
+    private static boolean sameContent(ProductResponse before, ProductResponse after) {
+        return before.money().equals(after.money())
+                && before.name().equals(after.name())
+                && Objects.equals(before.description(), after.description());
+    }
+
+    private static CatalogImportResponse toResponse(ImportState state, List<String> errors) {
+        return new CatalogImportResponse(
+                state.importKey(),
+                state.status().name(),
+                state.format(),
+                state.rowsCommitted(),
+                state.inserted(),
+                state.updated(),
+                state.unchanged(),
+                state.rejected(),
+                state.lastError(),
+                state.updatedAt(),
+                errors
+        );
+    }
+
+    /**
+     * Evicts the chunk's updated products from the second-level cache just before the commit and again right
+     * after it. The second pass drops whatever a concurrent read loaded from the old rows in between, and being
+     * ordered first it runs before any {@code AFTER_COMMIT} listener, so nothing reacting to the events (a
+     * response cache reload, another node) can read the old state back out of the second-level cache.
+     */
+    private final class SecondLevelCacheEviction implements TransactionSynchronization {
+
+        private final List<Long> updatedIds;
+
+        private SecondLevelCacheEviction(List<Long> updatedIds) {
+            this.updatedIds = updatedIds;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            evict();
+        }
+
+        @Override
+        public void afterCommit() {
+            evict();
+        }
+
+        private void evict() {
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            for (Long id : updatedIds) {
+                cache.evictEntityData(Product.class, id);
+            }
+            cache.evictNaturalIdData(Product.class);
+            cache.evictDefaultQueryRegion();
+        }
+    }
+
+    /**
+     * Product ids drawn from {@code products_seq} in blocks, so a chunk of inserts costs one
+     * sequence call per {@value #ID_ALLOCATION_SIZE} rows and never collides with Hibernate's blocks.
+     */
+    private final class IdBlock {
+
+        private long next = 1;
+        private long last = 0;
+
+        long next() {
+            if (next > last) {
+                last = repository.nextProductIdBlock();
+                next = last - ID_ALLOCATION_SIZE + 1;
+            }
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ing.tema.services;
+
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductBatchChangedEvent;
+import com.ing.tema.events.RemoteProductChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip-compressed copy of the cached catalog JSON, so full-list downloads are served from memory
+ * without querying, serializing or compressing per request.
+ * <p>
+ * The snapshot is rebuilt once per burst of writes: the first committed change schedules a rebuild
+ * after {@code store.catalog-snapshot.debounce}, and every change until then rides along with it.
+ * Compression never runs on a request thread: a request for a catalog that has no snapshot yet, such as
+ * the first one after startup or after the cached catalog expired, is served uncompressed and schedules
+ * the build, which all requests until it finishes share.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final ProductService productService;
+    private final ProductResponseCache responseCache;
+    private final TaskScheduler taskScheduler;
+    private final Duration debounce;
+    private final long minCompressedSize;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    public CatalogSnapshotService(ProductService productService,
+                                  ProductResponseCache responseCache,
+                                  TaskScheduler taskScheduler,
+                                  @Value("${store.catalog-snapshot.debounce:500ms}") Duration debounce,
+                                  @Value("${server.compression.min-response-size:2KB}") DataSize minCompressedSize) {
+        this.productService = productService;
+        this.responseCache = responseCache;
+        this.taskScheduler = taskScheduler;
+        this.debounce = debounce;
+        this.minCompressedSize = minCompressedSize.toBytes();
+    }
+
+    private record Snapshot(List<ProductResponse> catalog, byte[] gzip) {
+    }
+
+    /**
+     * Gzip bytes for {@code body} if it is the catalog the snapshot was built from and large enough to be worth
+     * compressing, otherwise null. For a cached catalog without a snapshot yet, a build is scheduled.
+     */
+    public byte[] gzipFor(Object body) {
+        Snapshot current = snapshot;
+        if (current != null && current.catalog() == body) {
+            return current.gzip();
+        }
+        if (body instanceof List<?> && responseCache.jsonFor(body) != null) {
+            scheduleRebuild(Duration.ZERO);
+        }
+        return null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        scheduleRebuild(debounce);
+    }
+
+    @EventListener
+    public void onRemoteProductChanged(RemoteProductChangedEvent event) {
+        onProductChanged(event.change());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        scheduleRebuild(debounce);
+    }
+
+    @EventListener
+    public void onRemoteProductsChanged(RemoteProductBatchChangedEvent event) {
+        scheduleRebuild(debounce);
+    }
+
+    private void scheduleRebuild(Duration delay) {
+        if (rebuildPending.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::rebuild, Instant.now().plus(delay));
+        }
+    }
+
+    void rebuild() {
+        rebuildPending.set(false);
+        try {
+            List<ProductResponse> catalog = productService.listProducts();
+            byte[] json = responseCache.jsonFor(catalog);
+            byte[] gzip = json == null || json.length < minCompressedSize ? null : gzip(json);
+            snapshot = new Snapshot(catalog, gzip);
+            log.debug("Rebuilt catalog snapshot, gzipBytes={}", gzip == null ? 0 : gzip.length);
+        } catch (RuntimeException ex) {
+            log.warn("Catalog snapshot rebuild failed: {}", ex.getMessage());
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -20,14 +20,37 @@ import java.util.stream.Collectors;
 public class CustomUserDetailsService implements UserDetailsService {
     private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
     private final UserRepository userRepository;
+    private final SingleFlight<String, UserAccount> loadsByUsername;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, RequestCoalescer requestCoalescer) {
         this.userRepository = userRepository;
+        this.loadsByUsername = requestCoalescer.group("user-by-username");
+    }
+
+    /**
+     * Immutable copy of the account shared between coalesced callers; each caller gets its own
+     * {@link User}, since Spring Security erases the password on the instance it authenticated.
+     */
+    private record UserAccount(String username, String password, Set<GrantedAuthority> authorities, boolean enabled) {
     }
 
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
+        UserAccount account = loadsByUsername.execute(username, () -> loadAccount(username));
+
+        return User.builder()
+                .username(account.username())
+                .password(account.password())
+                .authorities(account.authorities())
+                .accountLocked(false)
+                .accountExpired(false)
+                .credentialsExpired(false)
+                .disabled(!account.enabled())
+                .build();
+    }
+
+    private UserAccount loadAccount(String username) {
         log.debug("Loading user by username: {}", username);
 
         UserEntity user = userRepository.findByUsername(username)
@@ -38,16 +61,8 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         Set<GrantedAuthority> authorities = user.getRoles().stream()
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toUnmodifiableSet());
 
-        return User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(authorities)
-                .accountLocked(false)
-                .accountExpired(false)
-                .credentialsExpired(false)
-                .disabled(!user.isEnabled())
-                .build();
+        return new UserAccount(user.getUsername(), user.getPassword(), authorities, user.isEnabled());
     }
 }
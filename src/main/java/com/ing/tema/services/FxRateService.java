@@ -0,0 +1,152 @@
+package com.ing.tema.services;
+
+import com.ing.tema.configuration.FxRateProperties;
+import com.ing.tema.dtos.FxRatesRequest;
+import com.ing.tema.dtos.FxRatesResponse;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.exceptions.UnsupportedCurrencyException;
+import com.ing.tema.money.FxRates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts product prices between currencies using an in-memory rate table.
+ * <p>
+ * The table is an immutable {@link FxRates} published through a volatile field: updates from the admin
+ * endpoint or the polled rates file build a new table and swap it in, so readers never lock or hit the database.
+ * The converted catalog is memoized per target currency for as long as both the cached catalog and the table are unchanged.
+ */
+@Service
+public class FxRateService {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateService.class);
+    private static final String BASE_KEY = "base";
+
+    private final FxRateProperties properties;
+    private final Map<String, ConvertedCatalog> convertedCatalogs = new ConcurrentHashMap<>();
+
+    private volatile FxRates rates;
+    private volatile FileTime ratesFileModified;
+
+    public FxRateService(FxRateProperties properties) {
+        this.properties = properties;
+        this.rates = FxRates.of(properties.getBaseCurrency(), properties.getRates(), Instant.now());
+        reloadRatesFile();
+    }
+
+    private record ConvertedCatalog(List<ProductResponse> source, FxRates rates, List<ProductResponse> converted) {
+    }
+
+    public FxRatesResponse getRates() {
+        return toResponse(rates);
+    }
+
+    public FxRatesResponse replaceRates(FxRatesRequest request) {
+        FxRates updated = FxRates.of(request.baseCurrency(), request.rates(), Instant.now());
+        publish(updated, "admin update");
+        return toResponse(updated);
+    }
+
+    public ProductResponse convert(ProductResponse product, String currency) {
+        return convert(product, normalize(currency), rates);
+    }
+
+    public List<ProductResponse> convertAll(List<ProductResponse> products, String currency) {
+        String target = normalize(currency);
+        FxRates snapshot = rates;
+
+        ConvertedCatalog cached = convertedCatalogs.get(target);
+        if (cached != null && cached.source() == products && cached.rates() == snapshot) {
+            return cached.converted();
+        }
+
+        List<ProductResponse> converted = new ArrayList<>(products.size());
+        for (ProductResponse product : products) {
+            converted.add(convert(product, target, snapshot));
+        }
+        converted = List.copyOf(converted);
+        convertedCatalogs.put(target, new ConvertedCatalog(products, snapshot, converted));
+        return converted;
+    }
+
+    @Scheduled(
+            initialDelayString = "${store.fx.poll-interval:30s}",
+            fixedDelayString = "${store.fx.poll-interval:30s}"
+    )
+    public void reloadRatesFile() {
+        Path path = properties.getRatesFile();
+        if (path == null || !Files.isReadable(path)) {
+            return;
+        }
+
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(ratesFileModified)) {
+                return;
+            }
+
+            Properties entries = new Properties();
+            try (Reader reader = Files.newBufferedReader(path)) {
+                entries.load(reader);
+            }
+            String base = entries.getProperty(BASE_KEY, properties.getBaseCurrency());
+            Map<String, BigDecimal> fileRates = new HashMap<>();
+            for (String currency : entries.stringPropertyNames()) {
+                if (!BASE_KEY.equals(currency)) {
+                    fileRates.put(currency, new BigDecimal(entries.getProperty(currency).trim()));
+                }
+            }
+
+            publish(FxRates.of(base, fileRates, modified.toInstant()), "rates file " + path);
+            ratesFileModified = modified;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not load exchange rates from {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private void publish(FxRates updated, String source) {
+        rates = updated;
+        convertedCatalogs.clear();
+        log.info("Loaded {} exchange rates against {} from {}", updated.rates().size(), updated.baseCurrency(), source);
+    }
+
+    private ProductResponse convert(ProductResponse product, String target, FxRates snapshot) {
+        if (target.equals(product.currency())) {
+            return product;
+        }
+        BigDecimal price = snapshot.convert(product.money(), target);
+        if (price == null) {
+            throw new UnsupportedCurrencyException(snapshot.supports(target) ? product.currency() : target);
+        }
+        return new ProductResponse(product.id(), product.sku(), product.name(), price, target, product.description());
+    }
+
+    private String normalize(String currency) {
+        String target = currency.trim().toUpperCase(Locale.ROOT);
+        if (!rates.supports(target)) {
+            throw new UnsupportedCurrencyException(target);
+        }
+        return target;
+    }
+
+    private FxRatesResponse toResponse(FxRates snapshot) {
+        return new FxRatesResponse(snapshot.baseCurrency(), snapshot.rates(), snapshot.updatedAt());
+    }
+}
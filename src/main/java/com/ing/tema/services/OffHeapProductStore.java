@@ -0,0 +1,499 @@
+package com.ing.tema.services;
+
+import com.ing.tema.configuration.OffHeapStoreProperties;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductBatchChangedEvent;
+import com.ing.tema.events.RemoteProductChangedEvent;
+import com.ing.tema.money.MinorUnits;
+import com.ing.tema.repositories.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Optional product store kept in direct memory for very large catalogs.
+ * <p>
+ * Every product is a fixed 40-byte record; variable-length strings live in an append-only arena.
+ * <pre>
+ *  0 long id            16 byte[3] currency, byte live   24 int skuRef    32 int descriptionRef
+ *  8 long priceMinor    20 int skuHash                   28 int nameRef   36 (padding)
+ * </pre>
+ * Prices are stored as long minor units, see {@link MinorUnits}. Records are found
+ * through two primitive open-addressing tables, id to slot and SKU hash to slot, so a lookup itself
+ * allocates nothing; only materializing a {@link ProductResponse} does.
+ * <p>
+ * The store sits behind {@link ProductResponseCache}: hot reads are answered with the cache's
+ * pre-serialized bytes, and a product is only materialized from here when the cache misses, in place
+ * of a database read. Its listeners run ahead of the cache's eviction, so a miss right after a
+ * change already finds the new record.
+ * <p>
+ * The store is loaded once at startup and kept current from committed {@link ProductChangedEvent}s.
+ * Anything that does not fit is simply left out and served from the database instead.
+ */
+@Service
+public class OffHeapProductStore implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapProductStore.class);
+
+    static final int RECORD_SIZE = 40;
+    private static final int ID = 0;
+    private static final int PRICE = 8;
+    private static final int CURRENCY = 16;
+    private static final int LIVE = 19;
+    private static final int SKU_HASH = 20;
+    private static final int SKU_REF = 24;
+    private static final int NAME_REF = 28;
+    private static final int DESCRIPTION_REF = 32;
+
+    private static final int NULL_REF = -1;
+
+    private final boolean enabled;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final StampedLock lock = new StampedLock();
+
+    private final ByteBuffer records;
+    private final ByteBuffer strings;
+    private final int maxProducts;
+    private int highWaterSlot;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    // id -> slot, linear probing; key 0 marks an empty bucket (ids are positive)
+    private long[] idKeys;
+    private int[] idSlots;
+    private int idCount;
+
+    // sku hash -> slot + 1, linear probing; 0 marks an empty bucket
+    private int[] skuTable;
+
+    private boolean overflowLogged;
+
+    public OffHeapProductStore(OffHeapStoreProperties properties,
+                               ProductRepository productRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.enabled = properties.isEnabled();
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+        if (readOnlyTransaction != null) {
+            readOnlyTransaction.setReadOnly(true);
+        }
+
+        this.maxProducts = properties.getMaxProducts();
+        if (enabled) {
+            this.records = ByteBuffer.allocateDirect(Math.multiplyExact(maxProducts, RECORD_SIZE));
+            this.strings = ByteBuffer.allocateDirect(Math.toIntExact(properties.getStringArenaSize().toBytes()));
+            int buckets = tableSizeFor(maxProducts);
+            this.idKeys = new long[buckets];
+            this.idSlots = new int[buckets];
+            this.skuTable = new int[buckets];
+        } else {
+            this.records = null;
+            this.strings = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || readOnlyTransaction == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int loaded = readOnlyTransaction.execute(status -> {
+            int count = 0;
+            for (var product : productRepository.findAll()) {
+                if (put(ProductService.toResponse(product))) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("Loaded {} products off-heap in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            remove(event.productId());
+        } else if (!put(event.after())) {
+            // keep readers off a stale record; they fall back to the database
+            remove(event.productId());
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRemoteProductChanged(RemoteProductChangedEvent event) {
+        onProductChanged(event.change());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        event.changes().forEach(this::onProductChanged);
+    }
+
+    // only the ids travel, so the records are dropped and readers fall back to the database
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRemoteProductsChanged(RemoteProductBatchChangedEvent event) {
+        event.productIds().forEach(this::remove);
+    }
+
+    public ProductResponse findById(long id) {
+        if (!enabled) {
+            return null;
+        }
+
+        long stamp = lock.readLock();
+        try {
+            int slot = slotOf(id);
+            return slot < 0 ? null : materialize(slot);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public ProductResponse findBySku(String sku) {
+        if (!enabled) {
+            return null;
+        }
+
+        long stamp = lock.readLock();
+        try {
+            int slot = slotOfSku(sku);
+            return slot < 0 ? null : materialize(slot);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return idCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Insert or replace a product. Returns false if it does not fit (capacity, arena or price range).
+     */
+    public boolean put(ProductResponse product) {
+        if (!enabled || product == null || product.id() == null || product.id() <= 0 || product.price() == null) {
+            return false;
+        }
+
+        long priceMinor;
+        try {
+            priceMinor = MinorUnits.fromBigDecimal(product.price());
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        byte[] currency = product.currency() == null ? null : product.currency().getBytes(StandardCharsets.US_ASCII);
+        if (currency == null || currency.length != 3) {
+            return false;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(product.id());
+            boolean existing = slot >= 0;
+
+            int skuRef;
+            int nameRef;
+            int descriptionRef;
+            if (existing) {
+                int base = offset(slot);
+                skuRef = reuseOrAppend(records.getInt(base + SKU_REF), product.sku());
+                nameRef = reuseOrAppend(records.getInt(base + NAME_REF), product.name());
+                descriptionRef = reuseOrAppend(records.getInt(base + DESCRIPTION_REF), product.description());
+            } else {
+                skuRef = append(product.sku());
+                nameRef = append(product.name());
+                descriptionRef = append(product.description());
+            }
+            if (skuRef == Integer.MIN_VALUE || nameRef == Integer.MIN_VALUE || descriptionRef == Integer.MIN_VALUE) {
+                return overflow("string arena");
+            }
+
+            if (existing) {
+                removeSku(slot);
+            } else {
+                slot = allocateSlot();
+                if (slot < 0) {
+                    return overflow("record capacity");
+                }
+            }
+
+            int base = offset(slot);
+            records.putLong(base + ID, product.id());
+            records.putLong(base + PRICE, priceMinor);
+            records.put(base + CURRENCY, currency[0]);
+            records.put(base + CURRENCY + 1, currency[1]);
+            records.put(base + CURRENCY + 2, currency[2]);
+            records.put(base + LIVE, (byte) 1);
+            records.putInt(base + SKU_HASH, product.sku().hashCode());
+            records.putInt(base + SKU_REF, skuRef);
+            records.putInt(base + NAME_REF, nameRef);
+            records.putInt(base + DESCRIPTION_REF, descriptionRef);
+
+            if (!existing) {
+                insertId(product.id(), slot);
+            }
+            insertSku(slot);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(id);
+            if (slot < 0) {
+                return;
+            }
+            removeSku(slot);
+            removeId(id);
+            records.put(offset(slot) + LIVE, (byte) 0);
+            releaseSlot(slot);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // --- records ---------------------------------------------------------------------------------
+
+    private static int offset(int slot) {
+        return slot * RECORD_SIZE;
+    }
+
+    private ProductResponse materialize(int slot) {
+        int base = offset(slot);
+        String currency = new String(new byte[]{
+                records.get(base + CURRENCY),
+                records.get(base + CURRENCY + 1),
+                records.get(base + CURRENCY + 2)
+        }, StandardCharsets.US_ASCII);
+
+        return new ProductResponse(
+                records.getLong(base + ID),
+                readString(records.getInt(base + SKU_REF)),
+                readString(records.getInt(base + NAME_REF)),
+                MinorUnits.toBigDecimal(records.getLong(base + PRICE)),
+                currency,
+                readString(records.getInt(base + DESCRIPTION_REF))
+        );
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        return highWaterSlot < maxProducts ? highWaterSlot++ : -1;
+    }
+
+    private void releaseSlot(int slot) {
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private boolean overflow(String what) {
+        if (!overflowLogged) {
+            overflowLogged = true;
+            log.warn("Off-heap product store is out of {}; further products are served from the database", what);
+        }
+        return false;
+    }
+
+    // --- string arena ----------------------------------------------------------------------------
+
+    private int append(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int position = strings.position();
+        if (strings.remaining() < Integer.BYTES + bytes.length) {
+            return Integer.MIN_VALUE;
+        }
+        strings.putInt(bytes.length);
+        strings.put(bytes);
+        return position;
+    }
+
+    private int reuseOrAppend(int ref, String value) {
+        return stringEquals(ref, value) ? ref : append(value);
+    }
+
+    private String readString(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        byte[] bytes = new byte[strings.getInt(ref)];
+        strings.get(ref + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int ref, String value) {
+        if (ref == NULL_REF || value == null) {
+            return ref == NULL_REF && value == null;
+        }
+
+        int length = strings.getInt(ref);
+        if (length == value.length()) {
+            // ASCII fast path: one byte per char, no allocation
+            boolean ascii = true;
+            for (int i = 0; i < length; i++) {
+                byte b = strings.get(ref + Integer.BYTES + i);
+                if (b < 0) {
+                    ascii = false;
+                    break;
+                }
+                if (b != value.charAt(i)) {
+                    return false;
+                }
+            }
+            if (ascii) {
+                return true;
+            }
+        }
+        return value.equals(readString(ref));
+    }
+
+    // --- id index --------------------------------------------------------------------------------
+
+    private static int tableSizeFor(int entries) {
+        int size = Integer.highestOneBit(Math.max(entries, 8) * 2 - 1) << 1;
+        return Math.max(size, 16);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slotOf(long id) {
+        long[] keys = idKeys;
+        int mask = keys.length - 1;
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            long key = keys[i];
+            if (key == id) {
+                return idSlots[i];
+            }
+            if (key == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void insertId(long id, int slot) {
+        int mask = idKeys.length - 1;
+        int i = mix(id) & mask;
+        while (idKeys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        idKeys[i] = id;
+        idSlots[i] = slot;
+        idCount++;
+    }
+
+    private void removeId(long id) {
+        int mask = idKeys.length - 1;
+        int i = mix(id) & mask;
+        while (idKeys[i] != id) {
+            i = (i + 1) & mask;
+        }
+
+        // backward-shift deletion keeps probe chains intact without tombstones
+        for (int j = (i + 1) & mask; idKeys[j] != 0; j = (j + 1) & mask) {
+            int home = mix(idKeys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                idKeys[i] = idKeys[j];
+                idSlots[i] = idSlots[j];
+                i = j;
+            }
+        }
+        idKeys[i] = 0;
+        idCount--;
+    }
+
+    // --- sku index -------------------------------------------------------------------------------
+
+    private int slotOfSku(String sku) {
+        int[] table = skuTable;
+        int mask = table.length - 1;
+        int hash = sku.hashCode();
+        for (int i = mix(hash) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int slot = table[i] - 1;
+            int base = offset(slot);
+            if (records.getInt(base + SKU_HASH) == hash && stringEquals(records.getInt(base + SKU_REF), sku)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insertSku(int slot) {
+        int mask = skuTable.length - 1;
+        int i = mix(records.getInt(offset(slot) + SKU_HASH)) & mask;
+        while (skuTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        skuTable[i] = slot + 1;
+    }
+
+    private void removeSku(int slot) {
+        int mask = skuTable.length - 1;
+        int i = mix(records.getInt(offset(slot) + SKU_HASH)) & mask;
+        while (skuTable[i] != slot + 1) {
+            if (skuTable[i] == 0) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        for (int j = (i + 1) & mask; skuTable[j] != 0; j = (j + 1) & mask) {
+            int home = mix(records.getInt(offset(skuTable[j] - 1) + SKU_HASH)) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                skuTable[i] = skuTable[j];
+                i = j;
+            }
+        }
+        skuTable[i] = 0;
+    }
+}
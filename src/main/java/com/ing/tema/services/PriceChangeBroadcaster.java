@@ -0,0 +1,251 @@
+package com.ing.tema.services;
+
+import com.ing.tema.configuration.PriceStreamProperties;
+import com.ing.tema.configuration.PriceStreamProperties.OverflowPolicy;
+import com.ing.tema.dtos.PriceChangeEvent;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductChangedEvent;
+import com.ing.tema.exceptions.PriceStreamUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed price changes out to SSE subscribers.
+ * <p>
+ * Publishing only offers into each subscriber's bounded buffer; the actual socket writes happen
+ * on a small delivery pool, so a slow client can never stall the thread that committed the change.
+ */
+@Service
+public class PriceChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceChangeBroadcaster.class);
+    static final String EVENT_NAME = "price-change";
+
+    private final PriceStreamProperties properties;
+    private final ExecutorService deliveryExecutor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore slots;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public PriceChangeBroadcaster(PriceStreamProperties properties) {
+        this(properties, Executors.newFixedThreadPool(
+                properties.getDeliveryThreads(),
+                Thread.ofPlatform().name("price-stream-", 0).daemon(true).factory()
+        ));
+    }
+
+    PriceChangeBroadcaster(PriceStreamProperties properties, ExecutorService deliveryExecutor) {
+        this.properties = properties;
+        this.deliveryExecutor = deliveryExecutor;
+        this.slots = new Semaphore(properties.getMaxSubscribers());
+    }
+
+    /**
+     * Reserves one of {@code max-subscribers} slots before the emitter exists, so concurrent subscribes
+     * cannot overshoot the limit; the slot is released once the subscriber is removed, whichever way.
+     */
+    public SseEmitter subscribe(String skuPrefix, Set<Long> ids) {
+        if (!slots.tryAcquire()) {
+            throw new PriceStreamUnavailableException(properties.getMaxSubscribers());
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, skuPrefix, ids, properties.getBufferSize());
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+
+        subscribers.add(subscriber);
+        log.debug("Price stream subscriber added, skuPrefix={}, ids={}, total={}", skuPrefix, ids, subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() != ProductChangedEvent.ChangeType.PRICE_CHANGED) {
+            return;
+        }
+
+        ProductResponse before = event.before();
+        ProductResponse after = event.after();
+        publish(new PriceChangeEvent(
+                after.id(),
+                after.sku(),
+                before.price(),
+                after.price(),
+                after.currency(),
+                event.occurredAt()
+        ));
+    }
+
+    @EventListener
+    public void onRemoteProductChanged(RemoteProductChangedEvent event) {
+        onProductChanged(event.change());
+    }
+
+    /**
+     * Streams each price change of an imported chunk. Other nodes only receive the chunk's ids, so imported
+     * prices reach the subscribers connected to the importing node.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        event.changes().forEach(this::onProductChanged);
+    }
+
+    public void publish(PriceChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Envelope envelope = new Envelope(sequence.incrementAndGet(), event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                enqueue(subscriber, envelope);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            disconnect(subscriber);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Envelope envelope) {
+        if (!subscriber.buffer.offer(envelope)) {
+            if (properties.getOverflowPolicy() == OverflowPolicy.DISCONNECT) {
+                log.warn("Disconnecting slow price stream subscriber, buffered={}", subscriber.buffer.size());
+                disconnect(subscriber);
+                return;
+            }
+
+            subscriber.buffer.poll();
+            subscriber.dropped.incrementAndGet();
+            if (!subscriber.buffer.offer(envelope)) {
+                subscriber.dropped.incrementAndGet();
+            }
+        }
+
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            deliveryExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException ex) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Envelope envelope;
+            while (!subscriber.isClosed() && (envelope = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(envelope.sequence()))
+                        .name(EVENT_NAME)
+                        .data(envelope.event(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away; the container completes the emitter on its own.
+            log.debug("Price stream subscriber dropped: {}", ex.getMessage());
+            remove(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        if (!subscriber.isClosed() && !subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void remove(Subscriber subscriber) {
+        boolean first = subscriber.close();
+        subscriber.buffer.clear();
+        subscribers.remove(subscriber);
+        if (first) {
+            slots.release();
+        }
+    }
+
+    private record Envelope(long sequence, PriceChangeEvent event) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String skuPrefix;
+        private final Set<Long> ids;
+        private final BlockingQueue<Envelope> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, String skuPrefix, Set<Long> ids, int bufferSize) {
+            this.emitter = emitter;
+            this.skuPrefix = skuPrefix == null || skuPrefix.isBlank() ? null : skuPrefix;
+            this.ids = ids == null ? Set.of() : Set.copyOf(ids);
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Returns whether this call closed the subscriber; completion, error and timeout may all report it.
+         */
+        private boolean close() {
+            return closed.compareAndSet(false, true);
+        }
+
+        private boolean isClosed() {
+            return closed.get();
+        }
+
+        private boolean matches(PriceChangeEvent event) {
+            if (!ids.isEmpty() && !ids.contains(event.productId())) {
+                return false;
+            }
+            return skuPrefix == null || event.sku().startsWith(skuPrefix);
+        }
+    }
+}
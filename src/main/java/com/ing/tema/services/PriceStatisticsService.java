@@ -0,0 +1,256 @@
+package com.ing.tema.services;
+
+import com.ing.tema.configuration.PriceStatisticsProperties;
+import com.ing.tema.dtos.CurrencyPriceStatistics;
+import com.ing.tema.dtos.PriceBand;
+import com.ing.tema.dtos.PriceStatisticsResponse;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductBatchChangedEvent;
+import com.ing.tema.events.RemoteProductChangedEvent;
+import com.ing.tema.money.MinorUnits;
+import com.ing.tema.money.Money;
+import com.ing.tema.repositories.PriceStatisticsRepository;
+import com.ing.tema.repositories.PriceStatisticsRepository.CurrencyAggregate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Per-currency price statistics (count, min, max, average, sum and a band histogram) over the whole catalog.
+ * <p>
+ * The aggregates are built once, from the cached catalog with a parallel pass when it is loaded and otherwise
+ * by the database, which returns count, min, max, sum and band counts per currency, and then kept current from
+ * committed {@link ProductChangedEvent}s. Prices are held as long minor units. Only the aggregates are kept, so
+ * a change that takes away the current min or max of its currency discards them and the next request rebuilds.
+ * <p>
+ * A change that occurred before a build finished may or may not be in what the build read, depending on when
+ * its transaction committed, so its event cannot simply be applied on top. Such an event discards the aggregates
+ * instead and the next request rebuilds them. Events from other nodes are placed against the build the same way,
+ * by their {@code occurredAt}, so this relies on node clocks being in step.
+ */
+@Service
+public class PriceStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceStatisticsService.class);
+
+    private final PriceStatisticsRepository statisticsRepository;
+    private final ProductResponseCache responseCache;
+    private final long[] bandEdges;
+
+    private final Object lock = new Object();
+    private Map<String, CurrencyStats> stats;
+    private Instant builtAt;
+    private volatile PriceStatisticsResponse lastResponse;
+
+    public PriceStatisticsService(PriceStatisticsRepository statisticsRepository,
+                                  ProductResponseCache responseCache,
+                                  PriceStatisticsProperties properties) {
+        this.statisticsRepository = statisticsRepository;
+        this.responseCache = responseCache;
+        this.bandEdges = properties.getBandEdges().stream()
+                .mapToLong(MinorUnits::fromBigDecimal)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    @Transactional(readOnly = true)
+    public PriceStatisticsResponse getStatistics() {
+        PriceStatisticsResponse response = lastResponse;
+        if (response != null) {
+            return response;
+        }
+        synchronized (lock) {
+            if (stats == null) {
+                stats = build();
+                builtAt = Instant.now();
+            }
+            response = toResponse();
+            lastResponse = response;
+            return response;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (lock) {
+            apply(event);
+        }
+    }
+
+    @EventListener
+    public void onRemoteProductChanged(RemoteProductChangedEvent event) {
+        onProductChanged(event.change());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        synchronized (lock) {
+            event.changes().forEach(this::apply);
+        }
+    }
+
+    // the prices did not travel, so the aggregates are rebuilt on the next request
+    @EventListener
+    public void onRemoteProductsChanged(RemoteProductBatchChangedEvent event) {
+        synchronized (lock) {
+            lastResponse = null;
+            stats = null;
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        lastResponse = null;
+        if (stats == null) {
+            return;
+        }
+        if (event.occurredAt().isBefore(builtAt)) {
+            log.debug("Product {} changed while price statistics were being built, rebuilding them", event.productId());
+            stats = null;
+            return;
+        }
+        if (event.before() != null && event.after() != null && event.before().money().equals(event.after().money())) {
+            return;
+        }
+        // the new price first, so a min that drops further or a max that rises further stays exact
+        if (event.after() != null) {
+            add(event.after().money());
+        }
+        if (event.before() != null && !remove(event.before().money())) {
+            log.debug("Product {} held the min or max price of {}, rebuilding price statistics",
+                    event.productId(), event.before().currency());
+            stats = null;
+        }
+    }
+
+    private Map<String, CurrencyStats> build() {
+        Map<String, CurrencyStats> built;
+        List<ProductResponse> catalog = responseCache.cachedCatalog();
+        if (catalog != null) {
+            built = catalog.parallelStream().collect(Collectors.groupingBy(ProductResponse::currency, TreeMap::new,
+                    Collector.of(() -> new CurrencyStats(bandEdges.length + 1),
+                            (currencyStats, product) -> currencyStats.add(product.money().minorUnits(),
+                                    bandOf(product.money().minorUnits())),
+                            CurrencyStats::merge)));
+        } else {
+            built = new TreeMap<>();
+            for (CurrencyAggregate aggregate : statisticsRepository.aggregateByCurrency(bandEdges)) {
+                built.put(aggregate.currency(), new CurrencyStats(aggregate));
+            }
+        }
+        log.info("Built price statistics for {} currencies from {}", built.size(), catalog != null ? "cached catalog" : "database");
+        return built;
+    }
+
+    private void add(Money price) {
+        stats.computeIfAbsent(price.currency(), c -> new CurrencyStats(bandEdges.length + 1))
+                .add(price.minorUnits(), bandOf(price.minorUnits()));
+    }
+
+    /**
+     * Returns false when the removed price was the min or max of its currency, which can no longer be told.
+     */
+    private boolean remove(Money price) {
+        CurrencyStats currencyStats = stats.get(price.currency());
+        if (currencyStats == null) {
+            return true;
+        }
+        if (currencyStats.count == 1) {
+            stats.remove(price.currency());
+            return true;
+        }
+        return currencyStats.remove(price.minorUnits(), bandOf(price.minorUnits()));
+    }
+
+    private int bandOf(long price) {
+        int index = Arrays.binarySearch(bandEdges, price);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private PriceStatisticsResponse toResponse() {
+        List<CurrencyPriceStatistics> currencies = new ArrayList<>(stats.size());
+        stats.forEach((currency, s) -> currencies.add(new CurrencyPriceStatistics(
+                currency,
+                s.count,
+                MinorUnits.toBigDecimal(s.min),
+                MinorUnits.toBigDecimal(s.max),
+                MinorUnits.toBigDecimal(s.sum).divide(BigDecimal.valueOf(s.count), MinorUnits.SCALE, RoundingMode.HALF_UP),
+                MinorUnits.toBigDecimal(s.sum),
+                histogram(s.bandCounts))));
+        return new PriceStatisticsResponse(List.copyOf(currencies), Instant.now());
+    }
+
+    private List<PriceBand> histogram(long[] bandCounts) {
+        List<PriceBand> bands = new ArrayList<>(bandCounts.length);
+        for (int i = 0; i < bandCounts.length; i++) {
+            BigDecimal from = i == 0 ? MinorUnits.toBigDecimal(0) : MinorUnits.toBigDecimal(bandEdges[i - 1]);
+            BigDecimal to = i < bandEdges.length ? MinorUnits.toBigDecimal(bandEdges[i]) : null;
+            bands.add(new PriceBand(from, to, bandCounts[i]));
+        }
+        return List.copyOf(bands);
+    }
+
+    private static final class CurrencyStats {
+
+        private final long[] bandCounts;
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        private CurrencyStats(int bands) {
+            this.bandCounts = new long[bands];
+        }
+
+        private CurrencyStats(CurrencyAggregate aggregate) {
+            this.bandCounts = aggregate.bandCounts();
+            this.count = aggregate.count();
+            this.sum = aggregate.sum();
+            this.min = aggregate.min();
+            this.max = aggregate.max();
+        }
+
+        private void add(long price, int band) {
+            bandCounts[band]++;
+            count++;
+            sum = Math.addExact(sum, price);
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+        }
+
+        private boolean remove(long price, int band) {
+            bandCounts[band]--;
+            count--;
+            sum -= price;
+            return price != min && price != max;
+        }
+
+        private CurrencyStats merge(CurrencyStats other) {
+            for (int i = 0; i < bandCounts.length; i++) {
+                bandCounts[i] += other.bandCounts[i];
+            }
+            count += other.count;
+            sum = Math.addExact(sum, other.sum);
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ing.tema.configuration.ResponseCacheProperties;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductBatchChangedEvent;
+import com.ing.tema.events.RemoteProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps each product response, and the full catalog, together with its UTF-8 JSON encoding.
+ * <p>
+ * Entries are tagged with the cache version observed before loading and are only kept if no
+ * product changed in the meantime, so a load racing a commit can never leave stale bytes behind.
+ * The caches are bounded by {@code store.response-cache.max-entries} and entries expire after
+ * {@code store.response-cache.time-to-live}, so one that somehow missed an invalidation does not
+ * stay stale for good.
+ * {@link com.ing.tema.configuration.PreSerializedJsonHttpMessageConverter} recognises the cached
+ * instances by identity and writes their bytes without going through the object mapper.
+ */
+@Service
+public class ProductResponseCache {
+
+    private final ObjectMapper objectMapper;
+
+    private static final String CATALOG = "catalog";
+
+    private final Cache<Long, CachedJson<ProductResponse>> products;
+    private final Cache<String, Long> idsBySku;
+    private final Cache<String, CachedJson<List<ProductResponse>>> catalog;
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    public ProductResponseCache(ObjectMapper objectMapper, ResponseCacheProperties properties) {
+        this(objectMapper, properties, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    ProductResponseCache(ObjectMapper objectMapper, ResponseCacheProperties properties, Ticker ticker, Executor executor) {
+        this.objectMapper = objectMapper;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTimeToLive())
+                .ticker(ticker)
+                .executor(executor)
+                .build();
+        this.idsBySku = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTimeToLive())
+                .ticker(ticker)
+                .executor(executor)
+                .build();
+        this.catalog = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(properties.getTimeToLive())
+                .ticker(ticker)
+                .executor(executor)
+                .build();
+    }
+
+    public record CachedJson<T>(T value, byte[] json, long version) {
+    }
+
+    public ProductResponse getProduct(Long id, Supplier<ProductResponse> loader) {
+        CachedJson<ProductResponse> cached = products.getIfPresent(id);
+        if (cached != null) {
+            return cached.value();
+        }
+        return load(loader);
+    }
+
+    public ProductResponse getProductBySku(String sku, Supplier<ProductResponse> loader) {
+        Long id = idsBySku.getIfPresent(sku);
+        CachedJson<ProductResponse> cached = id == null ? null : products.getIfPresent(id);
+        if (cached != null) {
+            return cached.value();
+        }
+        return load(loader);
+    }
+
+    public List<ProductResponse> getCatalog(Supplier<List<ProductResponse>> loader) {
+        CachedJson<List<ProductResponse>> cached = catalog.getIfPresent(CATALOG);
+        if (cached != null) {
+            return cached.value();
+        }
+
+        long observed = version.get();
+        List<ProductResponse> responses = loader.get();
+        CachedJson<List<ProductResponse>> entry = new CachedJson<>(responses, serialize(responses), observed);
+
+        if (version.get() == observed) {
+            catalog.put(CATALOG, entry);
+            if (version.get() != observed) {
+                catalog.asMap().remove(CATALOG, entry);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * The cached catalog, or null if it has not been loaded since the last change.
+     */
+    public List<ProductResponse> cachedCatalog() {
+        CachedJson<List<ProductResponse>> cached = catalog.getIfPresent(CATALOG);
+        return cached == null ? null : cached.value();
+    }
+
+    /**
+     * Cached JSON for {@code body} if it is the exact instance handed out by this cache, otherwise null.
+     */
+    public byte[] jsonFor(Object body) {
+        if (body instanceof ProductResponse response && response.id() != null) {
+            CachedJson<ProductResponse> cached = products.getIfPresent(response.id());
+            return cached != null && cached.value() == body ? cached.json() : null;
+        }
+
+        CachedJson<List<ProductResponse>> cached = catalog.getIfPresent(CATALOG);
+        return cached != null && cached.value() == body ? cached.json() : null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.productId(), event.sku());
+    }
+
+    @EventListener
+    public void onRemoteProductChanged(RemoteProductChangedEvent event) {
+        onProductChanged(event.change());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        evictAll(event.productIds());
+    }
+
+    @EventListener
+    public void onRemoteProductsChanged(RemoteProductBatchChangedEvent event) {
+        evictAll(event.productIds());
+    }
+
+    public void evict(Long id, String sku) {
+        version.incrementAndGet();
+        if (id != null) {
+            products.invalidate(id);
+        }
+        if (sku != null) {
+            idsBySku.invalidate(sku);
+        }
+        catalog.invalidateAll();
+    }
+
+    /**
+     * Evict a batch of created or updated products. Batches never delete or re-key a product, so the
+     * sku-to-id entries stay valid.
+     */
+    public void evictAll(Collection<Long> ids) {
+        version.incrementAndGet();
+        products.invalidateAll(ids);
+        catalog.invalidateAll();
+    }
+
+    /**
+     * Put already-loaded responses straight into the cache, e.g. when warming from a catalog snapshot.
+     */
+    public void preload(Collection<ProductResponse> responses) {
+        long current = version.get();
+        for (ProductResponse response : responses) {
+            products.put(response.id(), new CachedJson<>(response, serialize(response), current));
+            idsBySku.put(response.sku(), response.id());
+        }
+        catalog.invalidateAll();
+    }
+
+    /**
+     * Evict every cached product whose id is not in {@code ids}.
+     */
+    public void retainProducts(Set<Long> ids) {
+        version.incrementAndGet();
+        products.asMap().keySet().retainAll(ids);
+        idsBySku.asMap().values().retainAll(ids);
+        catalog.invalidateAll();
+    }
+
+    public void clear() {
+        version.incrementAndGet();
+        products.invalidateAll();
+        idsBySku.invalidateAll();
+        catalog.invalidateAll();
+    }
+
+    private ProductResponse load(Supplier<ProductResponse> loader) {
+        long observed = version.get();
+        ProductResponse response = loader.get();
+        CachedJson<ProductResponse> entry = new CachedJson<>(response, serialize(response), observed);
+
+        if (version.get() == observed) {
+            products.put(response.id(), entry);
+            idsBySku.put(response.sku(), response.id());
+            if (version.get() != observed) {
+                products.asMap().remove(response.id(), entry);
+            }
+        }
+        return response;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -4,13 +4,17 @@ import com.ing.tema.dtos.ChangePriceRequest;
 import com.ing.tema.dtos.CreateProductRequest;
 import com.ing.tema.dtos.ProductResponse;
 import com.ing.tema.entities.Product;
+import com.ing.tema.events.ProductChangedEvent;
 import com.ing.tema.exceptions.ProductAlreadyExistsException;
 import com.ing.tema.exceptions.ProductNotFoundException;
 import com.ing.tema.repositories.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.Principal;
 import java.util.List;
@@ -22,11 +26,32 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final IdempotencyService idempotencyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductResponseCache responseCache;
+    private final OffHeapProductStore offHeapStore;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final SingleFlight<Long, ProductResponse> loadsById;
+    private final SingleFlight<String, ProductResponse> loadsBySku;
+    private final SingleFlight<String, List<ProductResponse>> catalogLoads;
 
     public ProductService(ProductRepository productRepository,
-                          IdempotencyService idempotencyService) {
+                          IdempotencyService idempotencyService,
+                          ApplicationEventPublisher eventPublisher,
+                          ProductResponseCache responseCache,
+                          OffHeapProductStore offHeapStore,
+                          RequestCoalescer requestCoalescer,
+                          PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
         this.idempotencyService = idempotencyService;
+        this.eventPublisher = eventPublisher;
+        this.responseCache = responseCache;
+        this.offHeapStore = offHeapStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.loadsById = requestCoalescer.group("product-by-id");
+        this.loadsBySku = requestCoalescer.group("product-by-sku");
+        this.catalogLoads = requestCoalescer.group("catalog");
     }
 
     @Transactional
@@ -52,28 +77,24 @@ public class ProductService {
         product = productRepository.save(product);
         log.info("Created product id={} sku={}", product.getId(), product.getSku());
 
-        return toResponse(product);
+        ProductResponse response = toResponse(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(response, actor(owner, "POST", path, idempotencyKey)));
+        return response;
     }
 
-    @Transactional(readOnly = true)
+    // Reads are not @Transactional: a cache hit needs no connection, and on a miss only the caller that wins
+    // the single-flight reads the off-heap store or opens a read-only transaction; concurrent callers for the
+    // same key share its result.
     public ProductResponse getProductById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException(id));
-        return toResponse(product);
+        return responseCache.getProduct(id, () -> loadsById.execute(id, () -> loadById(id)));
     }
 
-    @Transactional(readOnly = true)
     public ProductResponse getProductBySku(String sku) {
-        Product product = productRepository.findBySku(sku)
-                .orElseThrow(() -> new ProductNotFoundException(sku));
-        return toResponse(product);
+        return responseCache.getProductBySku(sku, () -> loadsBySku.execute(sku, () -> loadBySku(sku)));
     }
 
-    @Transactional(readOnly = true)
     public List<ProductResponse> listProducts() {
-        return productRepository.findAll().stream()
-                .map(this::toResponse)
-                .toList();
+        return responseCache.getCatalog(() -> catalogLoads.execute("all", this::loadCatalog));
     }
 
     @Transactional
@@ -88,11 +109,14 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
 
+        ProductResponse before = toResponse(product);
         product.setPrice(request.newPrice());
         product = productRepository.save(product);
-        log.info("Changed price for product id={} newPrice={}", product.getId(), product.getPrice());
 
-        return toResponse(product);
+        ProductResponse after = toResponse(product);
+        log.info("Changed price for product id={} newPrice={}", after.id(), after.price());
+        eventPublisher.publishEvent(ProductChangedEvent.priceChanged(before, after, actor(owner, "PUT", path, idempotencyKey)));
+        return after;
     }
 
     @Transactional
@@ -108,9 +132,41 @@ public class ProductService {
 
         productRepository.delete(product);
         log.info("Deleted product id={}", id);
+
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(toResponse(product), actor(owner, "DELETE", path, idempotencyKey)));
+    }
+
+    private static ProductChangedEvent.Actor actor(String owner, String httpMethod, String path, String idempotencyKey) {
+        return new ProductChangedEvent.Actor(owner, httpMethod, path, idempotencyKey);
+    }
+
+    private ProductResponse loadById(Long id) {
+        ProductResponse stored = offHeapStore.findById(id);
+        if (stored != null) {
+            return stored;
+        }
+        return readOnlyTransaction.execute(status -> productRepository.findById(id)
+                .map(ProductService::toResponse)
+                .orElseThrow(() -> new ProductNotFoundException(id)));
+    }
+
+    private ProductResponse loadBySku(String sku) {
+        ProductResponse stored = offHeapStore.findBySku(sku);
+        if (stored != null) {
+            return stored;
+        }
+        return readOnlyTransaction.execute(status -> productRepository.findBySku(sku)
+                .map(ProductService::toResponse)
+                .orElseThrow(() -> new ProductNotFoundException(sku)));
+    }
+
+    private List<ProductResponse> loadCatalog() {
+        return readOnlyTransaction.execute(status -> productRepository.findAll().stream()
+                .map(ProductService::toResponse)
+                .toList());
     }
 
-    private ProductResponse toResponse(Product product) {
+    static ProductResponse toResponse(Product product) {
         return new ProductResponse(
                 product.getId(),
                 product.getSku(),
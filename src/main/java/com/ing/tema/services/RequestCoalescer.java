@@ -0,0 +1,28 @@
+package com.ing.tema.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates {@link SingleFlight} groups and publishes how many requests each one coalesced
+ * as the {@code store.requests.coalesced} counter, tagged by group.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <K, V> SingleFlight<K, V> group(String name) {
+        SingleFlight<K, V> group = new SingleFlight<>();
+        FunctionCounter.builder("store.requests.coalesced", group, SingleFlight::coalescedCount)
+                .description("Requests served by another request's in-flight load")
+                .tag("group", name)
+                .register(meterRegistry);
+        return group;
+    }
+}
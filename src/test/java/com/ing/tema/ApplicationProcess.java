@@ -0,0 +1,203 @@
+package com.ing.tema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application as a separate OS process, JVM or native executable, reached over HTTP on a free
+ * port. {@link #startupTime()} runs from process launch to the first HTTP response and
+ * {@link #residentSetKb()} reads the process RSS from {@code /proc} (Linux only).
+ */
+public final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final Process process;
+    private final URI baseUri;
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Duration startupTime;
+
+    private ApplicationProcess(Process process, int port) {
+        this.process = process;
+        this.baseUri = URI.create("http://localhost:" + port);
+    }
+
+    /**
+     * @param command executable and leading arguments, e.g. {@code java -jar target/tema.jar} or {@code target/tema}
+     * @param log     file receiving the process' stdout and stderr
+     */
+    public static ApplicationProcess start(List<String> command, File log, String... arguments) {
+        int port = freePort();
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+        fullCommand.addAll(Arrays.asList(arguments));
+
+        long launchedAt = System.nanoTime();
+        Process process;
+        try {
+            process = new ProcessBuilder(fullCommand)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log)
+                    .start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not launch " + fullCommand, ex);
+        }
+
+        ApplicationProcess application = new ApplicationProcess(process, port);
+        application.awaitFirstResponse(launchedAt, log);
+        return application;
+    }
+
+    public static List<String> command(String commandLine) {
+        return Arrays.asList(commandLine.trim().split("\\s+"));
+    }
+
+    public Duration startupTime() {
+        return startupTime;
+    }
+
+    /**
+     * Resident set size in kB, or -1 where {@code /proc/<pid>/status} is not available.
+     */
+    public long residentSetKb() {
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException ignored) {
+            // not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    public HttpResponse<String> get(String path, String token) {
+        return send(request(path, token).GET().build());
+    }
+
+    public HttpResponse<String> post(String path, String token, Object body, String... headers) {
+        HttpRequest.Builder request = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return send(request.build());
+    }
+
+    public String token(String username, String password) {
+        HttpResponse<String> response = post("/api/auth/token", null,
+                Map.of("username", username, "password", password));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return readTree(response.body()).path("accessToken").asText();
+    }
+
+    public JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+
+    private void awaitFirstResponse(long launchedAt, File log) {
+        long deadline = launchedAt + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                // any status will do: the port only answers once the context has refreshed
+                http.send(HttpRequest.newBuilder(baseUri.resolve("/actuator/health")).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                startupTime = Duration.ofNanos(System.nanoTime() - launchedAt);
+                return;
+            } catch (IOException notYetListening) {
+                sleep();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        close();
+        throw new IllegalStateException("Application did not answer within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ing.tema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Black-box checks against the executable built by {@code mvn -Pnative verify}, covering the paths
+ * that need reachability metadata: Liquibase migrating at startup, Hibernate entities and the JCache
+ * second-level cache, Nimbus signing and verifying JWTs, and Jackson on request and error bodies.
+ * <p>
+ * Runs against any launch command given as {@code -Dtema.command}, so the same suite can be pointed
+ * at {@code java -jar target/tema-0.0.1-SNAPSHOT.jar} for comparison.
+ */
+class NativeImageIT {
+
+    private static ApplicationProcess application;
+    private static String adminToken;
+    private static String userToken;
+
+    @BeforeAll
+    static void start() {
+        String command = System.getProperty("tema.command");
+        assumeTrue(command != null && !command.isBlank(), "tema.command not set, run with -Pnative");
+
+        application = ApplicationProcess.start(ApplicationProcess.command(command), new File("target/native-image-it.log"));
+        adminToken = application.token("admin", "password");
+        userToken = application.token("user", "password");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (application != null) {
+            application.close();
+        }
+    }
+
+    private static Map<String, Object> product(String sku) {
+        return Map.of("sku", sku, "name", "Native " + sku, "price", new BigDecimal("12.50"), "currency", "EUR");
+    }
+
+    private static HttpResponse<String> create(String sku) {
+        return application.post("/api/products", adminToken, product(sku),
+                "Idempotency-Id", UUID.randomUUID().toString());
+    }
+
+    @Test
+    void createdProduct_shouldBeReadableById() {
+        HttpResponse<String> created = create("NATIVE-1");
+        assertEquals(201, created.statusCode(), created.body());
+        long id = application.readTree(created.body()).path("id").asLong();
+
+        // the second read is served from the second-level cache
+        for (int i = 0; i < 2; i++) {
+            HttpResponse<String> read = application.get("/api/products/" + id, userToken);
+            assertEquals(200, read.statusCode(), read.body());
+            JsonNode product = application.readTree(read.body());
+            assertEquals("NATIVE-1", product.path("sku").asText());
+            assertEquals(0, new BigDecimal("12.50").compareTo(product.path("price").decimalValue()));
+        }
+    }
+
+    @Test
+    void duplicateSku_shouldReturnConflictBody() {
+        assertEquals(201, create("NATIVE-2").statusCode());
+
+        HttpResponse<String> duplicate = create("NATIVE-2");
+
+        assertEquals(409, duplicate.statusCode());
+        assertEquals(409, application.readTree(duplicate.body()).path("status").asInt());
+    }
+
+    @Test
+    void missingProduct_shouldReturnNotFound() {
+        assertEquals(404, application.get("/api/products/999999", userToken).statusCode());
+    }
+
+    @Test
+    void writes_shouldRequireAdminToken() {
+        HttpResponse<String> anonymous = application.post("/api/products", null, product("NATIVE-3"),
+                "Idempotency-Id", UUID.randomUUID().toString());
+        HttpResponse<String> asUser = application.post("/api/products", userToken, product("NATIVE-3"),
+                "Idempotency-Id", UUID.randomUUID().toString());
+
+        assertEquals(401, anonymous.statusCode());
+        assertEquals(403, asUser.statusCode());
+    }
+
+    @Test
+    void tamperedToken_shouldBeRejected() {
+        // the user's claims under the admin token's signature
+        String tampered = userToken.substring(0, userToken.lastIndexOf('.'))
+                + adminToken.substring(adminToken.lastIndexOf('.'));
+
+        assertEquals(401, application.get("/api/products", tampered).statusCode());
+    }
+
+    @Test
+    void openApiDocument_shouldBeServed() {
+        HttpResponse<String> docs = application.get("/v3/api-docs", null);
+
+        assertEquals(200, docs.statusCode());
+        assertTrue(application.readTree(docs.body()).path("paths").has("/api/products"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.ing.tema.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimit limit(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, THRESHOLD, 0.5, clock::get);
+    }
+
+    /**
+     * Completes an admitted request after the given latency.
+     */
+    private void complete(AdaptiveConcurrencyLimit limit, long latencyNanos, boolean failed) {
+        long start = clock.get();
+        clock.addAndGet(latencyNanos);
+        limit.release(start, failed);
+    }
+
+    @Test
+    void tryAcquire_shouldRejectBeyondLimitAndCountRejections() {
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        assertEquals(2, limit.inFlight());
+        assertEquals(1, limit.rejected());
+    }
+
+    @Test
+    void release_shouldGrowLimitOnFastRequestsUnderLoad() {
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 3);
+
+        limit.tryAcquire();
+        complete(limit, FAST, false);
+        assertEquals(3, limit.limit());
+
+        limit.tryAcquire();
+        limit.tryAcquire();
+        complete(limit, FAST, false);
+        assertEquals(3, limit.limit(), "limit is capped at max");
+    }
+
+    @Test
+    void release_shouldNotGrowLimitWhenMostlyIdle() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+
+        limit.tryAcquire();
+        complete(limit, FAST, false);
+
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void release_shouldBackOffOnSlowOrFailedRequests() {
+        AdaptiveConcurrencyLimit limit = limit(8, 3, 10);
+
+        limit.tryAcquire();
+        complete(limit, SLOW, false);
+        assertEquals(4, limit.limit());
+
+        limit.tryAcquire();
+        complete(limit, FAST, true);
+        assertEquals(3, limit.limit(), "limit is floored at min");
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void release_shouldBackOffOncePerBurstOfSlowRequests() {
+        AdaptiveConcurrencyLimit limit = limit(8, 1, 10);
+
+        long burstStart = clock.get();
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+        }
+        clock.addAndGet(SLOW);
+        for (int i = 0; i < 4; i++) {
+            limit.release(burstStart, false);
+        }
+        assertEquals(4, limit.limit(), "requests admitted before the cut do not cut again");
+
+        limit.tryAcquire();
+        complete(limit, SLOW, false);
+        assertEquals(2, limit.limit(), "a slow request admitted after the cut does");
+    }
+}
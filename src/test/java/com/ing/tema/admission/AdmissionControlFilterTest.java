@@ -0,0 +1,103 @@
+package com.ing.tema.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private static final int BURST = 8;
+
+    @Test
+    void burstOfSlowRequests_shouldCutLimitOnceAndShedBeyondIt() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setRead(new AdmissionControlProperties.ClassLimit(BURST, 1, 100, Duration.ofMillis(1)));
+        properties.getRead().setBackoffRatio(0.5);
+        AdmissionController admissionController = new AdmissionController(properties, new SimpleMeterRegistry());
+        AdaptiveConcurrencyLimit limit = admissionController.limitFor(RequestClass.READ);
+
+        CountDownLatch allAdmitted = new CountDownLatch(BURST);
+        CountDownLatch finish = new CountDownLatch(1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(admissionController, new ObjectMapper().findAndRegisterModules());
+
+        ExecutorService executor = Executors.newFixedThreadPool(BURST);
+        try {
+            List<Future<MockHttpServletResponse>> burst = new ArrayList<>();
+            for (int i = 0; i < BURST; i++) {
+                burst.add(executor.submit(() -> {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    filter.doFilter(get(), response, (req, res) -> {
+                        allAdmitted.countDown();
+                        try {
+                            finish.await();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                    return response;
+                }));
+            }
+            assertTrue(allAdmitted.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletResponse shed = new MockHttpServletResponse();
+            filter.doFilter(get(), shed, (req, res) -> fail("request beyond the limit must not reach the chain"));
+            assertEquals(503, shed.getStatus());
+            assertEquals("1", shed.getHeader(HttpHeaders.RETRY_AFTER));
+            assertTrue(shed.getContentAsString().contains("OVERLOADED"));
+
+            // every request in the burst now exceeds the 1ms threshold
+            Thread.sleep(20);
+            finish.countDown();
+            for (Future<MockHttpServletResponse> response : burst) {
+                assertEquals(200, response.get(5, TimeUnit.SECONDS).getStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(BURST / 2, limit.limit());
+        assertEquals(0, limit.inFlight());
+        assertEquals(1, limit.rejected());
+    }
+
+    @Test
+    void excludedPaths_shouldNeverBeShed() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setWrite(new AdmissionControlProperties.ClassLimit(1, 1, 1, Duration.ofSeconds(1)));
+        properties.setExcludedPaths(List.of("/api/products/import", "/api/bulk"));
+        AdmissionController admissionController = new AdmissionController(properties, new SimpleMeterRegistry());
+        assertTrue(admissionController.limitFor(RequestClass.WRITE).tryAcquire());
+
+        AdmissionControlFilter filter = new AdmissionControlFilter(admissionController, new ObjectMapper().findAndRegisterModules());
+        for (String path : List.of("/api/products/import", "/api/bulk/prices")) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", path), response, (req, res) -> {
+            });
+            assertEquals(200, response.getStatus(), path);
+        }
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/products"), shed, (req, res) -> {
+        });
+        assertEquals(503, shed.getStatus());
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/products/1");
+    }
+}
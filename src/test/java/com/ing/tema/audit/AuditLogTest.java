@@ -0,0 +1,147 @@
+package com.ing.tema.audit;
+
+import com.ing.tema.configuration.AuditLogProperties;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.AuditedActionEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditLogTest {
+
+    private AuditLogProperties properties;
+    private AuditLogRepository repository;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditLogProperties();
+        properties.setBufferSize(2);
+        properties.setFlushInterval(Duration.ofMillis(5));
+        properties.setMaxWriteAttempts(1);
+        repository = mock(AuditLogRepository.class);
+        auditLog = new AuditLog(properties, repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLog.stop();
+    }
+
+    private ProductChangedEvent priceChange(long id) {
+        ProductResponse before = new ProductResponse(id, "SKU-" + id, "P", BigDecimal.ONE, "EUR", null);
+        ProductResponse after = new ProductResponse(id, "SKU-" + id, "P", BigDecimal.TEN, "EUR", null);
+        return ProductChangedEvent.priceChanged(before, after,
+                new ProductChangedEvent.Actor("admin", "PUT", "/api/products/" + id + "/price", "idem-" + id));
+    }
+
+    private void awaitDropped(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (auditLog.droppedCount() < expected) {
+            assertTrue(System.nanoTime() < deadline, "records were not dropped");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void onProductChanged_shouldBatchRecordsWithActorAndFlushOnStop() {
+        // the writer reuses its batch list, so copy it when it is handed over
+        List<AuditRecord> batch = new ArrayList<>();
+        doAnswer(invocation -> batch.addAll(invocation.getArgument(0))).when(repository).insertBatch(anyList());
+        auditLog.onProductChanged(priceChange(1L));
+        auditLog.onProductChanged(priceChange(2L));
+
+        auditLog.start();
+        auditLog.stop();
+
+        verify(repository).insertBatch(anyList());
+        AuditRecord first = batch.get(0);
+        assertEquals("admin", first.principal());
+        assertEquals("PRICE_CHANGED", first.action());
+        assertEquals("idem-1", first.idempotencyKey());
+        assertEquals(BigDecimal.TEN, first.after().price());
+        assertEquals(2, auditLog.writtenCount());
+    }
+
+    @Test
+    void onProductChanged_shouldWriteThroughWhenBufferIsFull() {
+        List<AuditRecord> written = new ArrayList<>();
+        doAnswer(invocation -> written.addAll(invocation.getArgument(0))).when(repository).insertBatch(anyList());
+        auditLog.onProductChanged(priceChange(1L));
+        auditLog.onProductChanged(priceChange(2L));
+        auditLog.onProductChanged(priceChange(3L));
+
+        assertEquals(List.of(3L), written.stream().map(AuditRecord::productId).toList());
+        assertEquals(1, auditLog.overflowedCount());
+        assertEquals(1, auditLog.writtenCount());
+        assertEquals(0, auditLog.droppedCount());
+    }
+
+    @Test
+    void onProductChanged_shouldDropAndCountWhenBufferIsFullAndPolicyIsDrop() {
+        properties.setOverflowPolicy(AuditLogProperties.OverflowPolicy.DROP);
+        auditLog.onProductChanged(priceChange(1L));
+        auditLog.onProductChanged(priceChange(2L));
+        auditLog.onProductChanged(priceChange(3L));
+
+        assertEquals(1, auditLog.droppedCount());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void onAuditedAction_shouldRecordActionWithoutProduct() {
+        List<AuditRecord> batch = new ArrayList<>();
+        doAnswer(invocation -> batch.addAll(invocation.getArgument(0))).when(repository).insertBatch(anyList());
+        auditLog.onAuditedAction(new AuditedActionEvent(AuditedActionEvent.Action.LOGIN_FAILED,
+                new ProductChangedEvent.Actor("mallory", "POST", "/api/auth/token", null)));
+
+        auditLog.start();
+        auditLog.stop();
+
+        AuditRecord record = batch.get(0);
+        assertEquals("LOGIN_FAILED", record.action());
+        assertEquals("mallory", record.principal());
+        assertEquals("/api/auth/token", record.path());
+        assertNull(record.productId());
+    }
+
+    @Test
+    void write_shouldCountRecordsLostToFailedBatches() {
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).insertBatch(anyList());
+        auditLog.onProductChanged(priceChange(1L));
+
+        auditLog.start();
+        auditLog.stop();
+
+        assertEquals(0, auditLog.writtenCount());
+        assertEquals(1, auditLog.droppedCount());
+    }
+
+    @Test
+    void write_shouldKeepWriterAliveAfterUnexpectedException() throws Exception {
+        doThrow(new NullPointerException("bad record")).doNothing().when(repository).insertBatch(anyList());
+        auditLog.onProductChanged(priceChange(1L));
+
+        auditLog.start();
+        awaitDropped(1);
+        auditLog.onProductChanged(priceChange(2L));
+        auditLog.stop();
+
+        assertEquals(1, auditLog.writtenCount());
+        assertEquals(1, auditLog.droppedCount());
+    }
+}
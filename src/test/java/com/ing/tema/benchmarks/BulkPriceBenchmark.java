@@ -0,0 +1,98 @@
+package com.ing.tema.benchmarks;
+
+import com.ing.tema.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bulk price work the service does (ordering prices, and the count/min/max/sum/average of the price
+ * statistics) on BigDecimal prices versus {@link Money} minor units, plus reading the minor units back from
+ * response prices. Run with {@code -prof gc} to see the allocation rate per operation:
+ * <pre>mvn -Pbenchmark verify -Dbenchmark.include="BulkPrice.* -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkPriceBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private BigDecimal[] decimalPrices;
+    private long[] minorPrices;
+    private Money[] moneyPrices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        decimalPrices = new BigDecimal[size];
+        minorPrices = new long[size];
+        moneyPrices = new Money[size];
+        for (int i = 0; i < size; i++) {
+            long cents = 1 + random.nextInt(1_000_000);
+            decimalPrices[i] = BigDecimal.valueOf(cents, 2);
+            minorPrices[i] = cents;
+            moneyPrices[i] = new Money(cents, "EUR");
+        }
+    }
+
+    @Benchmark
+    public BigDecimal[] sortBigDecimal() {
+        BigDecimal[] copy = decimalPrices.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Money[] sortMoney() {
+        Money[] copy = moneyPrices.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public BigDecimal[] statisticsBigDecimal() {
+        BigDecimal min = decimalPrices[0];
+        BigDecimal max = decimalPrices[0];
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal price : decimalPrices) {
+            min = min.min(price);
+            max = max.max(price);
+            sum = sum.add(price);
+        }
+        return new BigDecimal[]{min, max, sum, sum.divide(BigDecimal.valueOf(size), 2, RoundingMode.HALF_UP)};
+    }
+
+    @Benchmark
+    public long[] statisticsMinorUnits() {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        long sum = 0;
+        for (long price : minorPrices) {
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+            sum = Math.addExact(sum, price);
+        }
+        return new long[]{min, max, sum, Math.round((double) sum / size)};
+    }
+
+    /**
+     * What an event or cached response costs the statistics: its price read back as minor units.
+     */
+    @Benchmark
+    public long toMinorUnits() {
+        long sum = 0;
+        for (BigDecimal price : decimalPrices) {
+            sum += Money.of(price, "EUR").minorUnits();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,258 @@
+package com.ing.tema.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The JDBC work behind the product read and write endpoints, run under each step of
+ * {@code application-prod.properties}. The settings are cumulative, so the difference between
+ * two neighbouring rows is the effect of the one setting that was added:
+ * <ul>
+ *     <li>{@code POOLED}: connections come from Hikari instead of being opened per request</li>
+ *     <li>{@code STATEMENT_CACHE}: H2 {@code QUERY_CACHE_SIZE=64}, parsed statements are reused per pooled session</li>
+ *     <li>{@code FETCH_SIZE}: the catalog scan asks for 500 rows per fetch</li>
+ *     <li>{@code BATCHING}: JDBC batches of 50, but flushed whenever the statement changes, as Hibernate
+ *     does without {@code order_inserts}</li>
+ *     <li>{@code ORDERED_BATCHING}: inserts grouped by table, so each table gets full batches</li>
+ * </ul>
+ * H2 runs in-process, so the fetch size and batching gains are a lower bound of what a networked
+ * database shows. Run one step with {@code -p setting=POOLED}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JdbcTuningBenchmark {
+
+    private static final int SEED_PRODUCTS = 10_000;
+    private static final int PRODUCTS_PER_WRITE = 50;
+    private static final int BATCH_SIZE = 50;
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_BY_ID =
+            "SELECT id, sku, name, price, currency, description FROM products WHERE id = ?";
+    private static final String SELECT_ALL =
+            "SELECT id, sku, name, price, currency, description FROM products ORDER BY id";
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (id, sku, name, price, currency, description, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IDEMPOTENCY_KEY =
+            "INSERT INTO idempotency_keys (id, idempotency_key, owner, http_method, path) VALUES (?, ?, ?, ?, ?)";
+
+    public enum Setting {
+        BASELINE(false, false, false, false, false),
+        POOLED(true, false, false, false, false),
+        STATEMENT_CACHE(true, true, false, false, false),
+        FETCH_SIZE(true, true, true, false, false),
+        BATCHING(true, true, true, true, false),
+        ORDERED_BATCHING(true, true, true, true, true);
+
+        final boolean pooled;
+        final boolean statementCache;
+        final boolean fetchSize;
+        final boolean batching;
+        final boolean ordered;
+
+        Setting(boolean pooled, boolean statementCache, boolean fetchSize, boolean batching, boolean ordered) {
+            this.pooled = pooled;
+            this.statementCache = statementCache;
+            this.fetchSize = fetchSize;
+            this.batching = batching;
+            this.ordered = ordered;
+        }
+    }
+
+    @Param
+    public Setting setting;
+
+    private String url;
+    private Connection keepAlive;
+    private HikariDataSource pool;
+    private final AtomicLong nextId = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        url = "jdbc:h2:mem:jdbc_tuning_" + setting + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;QUERY_CACHE_SIZE="
+                + (setting.statementCache ? 64 : 0);
+        keepAlive = DriverManager.getConnection(url, "sa", "");
+
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE products (
+                        id BIGINT PRIMARY KEY,
+                        sku VARCHAR(64) NOT NULL UNIQUE,
+                        name VARCHAR(128) NOT NULL,
+                        price NUMERIC(19,2) NOT NULL,
+                        currency VARCHAR(3) NOT NULL,
+                        description VARCHAR(512),
+                        created_at TIMESTAMP NOT NULL,
+                        updated_at TIMESTAMP NOT NULL
+                    )""");
+            statement.execute("""
+                    CREATE TABLE idempotency_keys (
+                        id BIGINT PRIMARY KEY,
+                        idempotency_key VARCHAR(128) NOT NULL,
+                        owner VARCHAR(64) NOT NULL,
+                        http_method VARCHAR(16) NOT NULL,
+                        path VARCHAR(255) NOT NULL,
+                        CONSTRAINT uk_idempotency_key_owner UNIQUE (idempotency_key, owner)
+                    )""");
+        }
+
+        keepAlive.setAutoCommit(false);
+        try (PreparedStatement insert = keepAlive.prepareStatement(INSERT_PRODUCT)) {
+            for (long id = 1; id <= SEED_PRODUCTS; id++) {
+                bindProduct(insert, id);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        keepAlive.commit();
+        keepAlive.setAutoCommit(true);
+
+        if (setting.pooled) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl(url);
+            config.setUsername("sa");
+            config.setPassword("");
+            config.setMaximumPoolSize(4);
+            config.setMinimumIdle(4);
+            pool = new HikariDataSource(config);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void removeWrittenProducts() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DELETE FROM products WHERE id > " + SEED_PRODUCTS);
+            statement.execute("DELETE FROM idempotency_keys");
+        }
+        nextId.set(SEED_PRODUCTS + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (pool != null) {
+            pool.close();
+        }
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        keepAlive.close();
+    }
+
+    private Connection connection() throws SQLException {
+        return setting.pooled ? pool.getConnection() : DriverManager.getConnection(url, "sa", "");
+    }
+
+    @Benchmark
+    public String getProductById() throws SQLException {
+        long id = ThreadLocalRandom.current().nextLong(1, SEED_PRODUCTS + 1);
+        try (Connection connection = connection();
+             PreparedStatement select = connection.prepareStatement(SELECT_BY_ID)) {
+            select.setLong(1, id);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getString("sku") : null;
+            }
+        }
+    }
+
+    @Benchmark
+    public long listProducts() throws SQLException {
+        try (Connection connection = connection();
+             PreparedStatement select = connection.prepareStatement(SELECT_ALL)) {
+            if (setting.fetchSize) {
+                select.setFetchSize(FETCH_SIZE);
+            }
+            long checksum = 0;
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    checksum += rs.getLong("id") + rs.getBigDecimal("price").unscaledValue().longValue();
+                }
+            }
+            return checksum;
+        }
+    }
+
+    /**
+     * {@value #PRODUCTS_PER_WRITE} creates in one transaction, each registering its idempotency key first.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PRODUCTS_PER_WRITE)
+    public long createProducts() throws SQLException {
+        long firstId = nextId.getAndAdd(PRODUCTS_PER_WRITE);
+        try (Connection connection = connection();
+             PreparedStatement keys = connection.prepareStatement(INSERT_IDEMPOTENCY_KEY);
+             PreparedStatement products = connection.prepareStatement(INSERT_PRODUCT)) {
+            connection.setAutoCommit(false);
+            if (!setting.batching) {
+                for (long id = firstId; id < firstId + PRODUCTS_PER_WRITE; id++) {
+                    bindIdempotencyKey(keys, id);
+                    keys.executeUpdate();
+                    bindProduct(products, id);
+                    products.executeUpdate();
+                }
+            } else if (!setting.ordered) {
+                for (long id = firstId; id < firstId + PRODUCTS_PER_WRITE; id++) {
+                    bindIdempotencyKey(keys, id);
+                    keys.addBatch();
+                    keys.executeBatch();
+                    bindProduct(products, id);
+                    products.addBatch();
+                    products.executeBatch();
+                }
+            } else {
+                for (long id = firstId; id < firstId + PRODUCTS_PER_WRITE; id++) {
+                    bindIdempotencyKey(keys, id);
+                    keys.addBatch();
+                    if ((id - firstId + 1) % BATCH_SIZE == 0) {
+                        keys.executeBatch();
+                    }
+                }
+                keys.executeBatch();
+                for (long id = firstId; id < firstId + PRODUCTS_PER_WRITE; id++) {
+                    bindProduct(products, id);
+                    products.addBatch();
+                    if ((id - firstId + 1) % BATCH_SIZE == 0) {
+                        products.executeBatch();
+                    }
+                }
+                products.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+        return firstId;
+    }
+
+    private static void bindIdempotencyKey(PreparedStatement insert, long id) throws SQLException {
+        insert.setLong(1, id);
+        insert.setString(2, "bench-" + id);
+        insert.setString(3, "admin");
+        insert.setString(4, "POST");
+        insert.setString(5, "/api/products");
+    }
+
+    private static void bindProduct(PreparedStatement insert, long id) throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        insert.setLong(1, id);
+        insert.setString(2, "SKU-BENCH-" + id);
+        insert.setString(3, "Benchmark product " + id);
+        insert.setBigDecimal(4, BigDecimal.valueOf(id % 10_000, 2));
+        insert.setString(5, "EUR");
+        insert.setString(6, "Inserted by JdbcTuningBenchmark");
+        insert.setTimestamp(7, now);
+        insert.setTimestamp(8, now);
+    }
+}
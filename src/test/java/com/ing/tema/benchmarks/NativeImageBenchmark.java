@@ -0,0 +1,83 @@
+package com.ing.tema.benchmarks;
+
+import com.ing.tema.ApplicationProcess;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The packaged application as a JVM jar against the native executable: time to first HTTP response
+ * and RSS are printed per trial, steady-state throughput of {@code GET /api/products/{id}} is what
+ * JMH measures. Build both first:
+ * {@code mvn package && mvn -Pnative package -DskipTests}, then
+ * {@code mvn -Pbenchmark verify -Dbenchmark.include=NativeImage}.
+ * <p>
+ * Rate limiting and admission control are switched off in both so the comparison is of the runtimes,
+ * not of the limits. Pass {@code -f 5} to JMH for a startup figure that is more than one sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class NativeImageBenchmark {
+
+    private static final String JAR = System.getProperty("tema.jar", "target/tema-0.0.1-SNAPSHOT.jar");
+    private static final String EXECUTABLE = System.getProperty("tema.native", "target/tema");
+
+    public enum Build {
+        JVM,
+        NATIVE
+    }
+
+    @Param
+    public Build build;
+
+    private ApplicationProcess application;
+    private String token;
+    private String productPath;
+    private long startupRssKb;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> command = build == Build.JVM
+                ? List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", JAR)
+                : List.of(EXECUTABLE);
+        application = ApplicationProcess.start(command,
+                new File("target/native-image-benchmark-" + build.name().toLowerCase(Locale.ROOT) + ".log"),
+                "--store.rate-limit.enabled=false", "--store.admission.enabled=false");
+        startupRssKb = application.residentSetKb();
+
+        String adminToken = application.token("admin", "password");
+        HttpResponse<String> created = application.post("/api/products", adminToken,
+                Map.of("sku", "BENCH-1", "name", "Benchmark", "price", new BigDecimal("9.99"), "currency", "EUR"),
+                "Idempotency-Id", UUID.randomUUID().toString());
+        if (created.statusCode() != 201) {
+            throw new IllegalStateException("Could not seed product: " + created.statusCode() + " " + created.body());
+        }
+        productPath = "/api/products/" + application.readTree(created.body()).path("id").asLong();
+        token = application.token("user", "password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s: started in %d ms, RSS %d MB after start, %d MB after load%n",
+                build, application.startupTime().toMillis(), startupRssKb / 1024, application.residentSetKb() / 1024);
+        application.close();
+    }
+
+    @Benchmark
+    public int getProductById() {
+        return application.get(productPath, token).statusCode();
+    }
+}
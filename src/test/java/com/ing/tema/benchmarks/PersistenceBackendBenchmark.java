@@ -0,0 +1,190 @@
+package com.ing.tema.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The queries behind the product endpoints against the H2 baseline and a local PostgreSQL binary,
+ * both migrated by the real changelog (so PostgreSQL gets its covering indexes) and both behind
+ * the Hikari and driver settings of the {@code prod} and {@code postgres} profiles.
+ * <p>
+ * H2 runs in the benchmark JVM while PostgreSQL is reached over a loopback socket, so H2 wins on
+ * raw latency here; what this shows is the per-request cost of the durable store and how much of it
+ * batching and index-only lookups recover.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class PersistenceBackendBenchmark {
+
+    private static final int SEED_PRODUCTS = 10_000;
+    private static final int PRODUCTS_PER_WRITE = 50;
+    private static final long FIRST_SEED_ID = 1_000;
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (id, sku, name, price, currency, description, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IDEMPOTENCY_KEY =
+            "INSERT INTO idempotency_keys (id, idempotency_key, owner, http_method, path, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    public enum Backend {
+        H2,
+        POSTGRESQL
+    }
+
+    @Param
+    public Backend backend;
+
+    private EmbeddedPostgres postgres;
+    private HikariDataSource pool;
+    private final AtomicLong nextId = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setMaximumPoolSize(4);
+        config.setMinimumIdle(4);
+        if (backend == Backend.POSTGRESQL) {
+            postgres = EmbeddedPostgres.start();
+            config.setJdbcUrl(postgres.getJdbcUrl("postgres", "postgres"));
+            config.addDataSourceProperty("prepareThreshold", 3);
+            config.addDataSourceProperty("preparedStatementCacheQueries", 256);
+            config.addDataSourceProperty("reWriteBatchedInserts", true);
+        } else {
+            config.setJdbcUrl("jdbc:h2:mem:backend_bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;QUERY_CACHE_SIZE=64");
+            config.setUsername("sa");
+            config.setPassword("");
+        }
+        pool = new HikariDataSource(config);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(pool);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement insert = connection.prepareStatement(INSERT_PRODUCT)) {
+            connection.setAutoCommit(false);
+            for (long id = FIRST_SEED_ID; id < FIRST_SEED_ID + SEED_PRODUCTS; id++) {
+                bindProduct(insert, id);
+                insert.addBatch();
+                if (id % 500 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+            connection.setAutoCommit(true);
+            if (backend == Backend.POSTGRESQL) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("VACUUM ANALYZE");
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void removeWrittenRows() throws SQLException {
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM products WHERE id >= " + (FIRST_SEED_ID + SEED_PRODUCTS));
+            statement.execute("DELETE FROM idempotency_keys");
+        }
+        nextId.set(FIRST_SEED_ID + SEED_PRODUCTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        pool.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public String getProductBySku() throws SQLException {
+        long id = ThreadLocalRandom.current().nextLong(FIRST_SEED_ID, FIRST_SEED_ID + SEED_PRODUCTS);
+        try (Connection connection = pool.getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, sku, name, price, currency, description FROM products WHERE sku = ?")) {
+            select.setString(1, "SKU-BENCH-" + id);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getString("name") : null;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean existsBySku() throws SQLException {
+        long id = ThreadLocalRandom.current().nextLong(FIRST_SEED_ID, FIRST_SEED_ID + SEED_PRODUCTS);
+        try (Connection connection = pool.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT id FROM products WHERE sku = ? LIMIT 1")) {
+            select.setString(1, "SKU-BENCH-" + id);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * {@value #PRODUCTS_PER_WRITE} creates in one transaction, written as ordered JDBC batches.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PRODUCTS_PER_WRITE)
+    public long createProducts() throws SQLException {
+        long firstId = nextId.getAndAdd(PRODUCTS_PER_WRITE);
+        try (Connection connection = pool.getConnection();
+             PreparedStatement keys = connection.prepareStatement(INSERT_IDEMPOTENCY_KEY);
+             PreparedStatement products = connection.prepareStatement(INSERT_PRODUCT)) {
+            connection.setAutoCommit(false);
+            Timestamp now = Timestamp.from(Instant.now());
+            for (long id = firstId; id < firstId + PRODUCTS_PER_WRITE; id++) {
+                keys.setLong(1, id);
+                keys.setString(2, "bench-" + id);
+                keys.setString(3, "admin");
+                keys.setString(4, "POST");
+                keys.setString(5, "/api/products");
+                keys.setTimestamp(6, now);
+                keys.addBatch();
+            }
+            keys.executeBatch();
+            for (long id = firstId; id < firstId + PRODUCTS_PER_WRITE; id++) {
+                bindProduct(products, id);
+                products.addBatch();
+            }
+            products.executeBatch();
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+        return firstId;
+    }
+
+    private static void bindProduct(PreparedStatement insert, long id) throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        insert.setLong(1, id);
+        insert.setString(2, "SKU-BENCH-" + id);
+        insert.setString(3, "Benchmark product " + id);
+        insert.setBigDecimal(4, BigDecimal.valueOf(id % 10_000, 2));
+        insert.setString(5, "EUR");
+        insert.setString(6, "Inserted by PersistenceBackendBenchmark");
+        insert.setTimestamp(7, now);
+        insert.setTimestamp(8, now);
+    }
+}
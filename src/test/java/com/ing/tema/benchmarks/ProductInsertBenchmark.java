@@ -0,0 +1,150 @@
+package com.ing.tema.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of the two id strategies as Hibernate drives them against the products table:
+ * IDENTITY runs one INSERT per row and reads the generated key back, POOLED_SEQUENCE fetches one
+ * sequence value per 50 rows and sends the inserts as JDBC batches.
+ * <p>
+ * H2 runs in-process, so the per-statement round trip is nearly free here; against a networked
+ * database the gap is considerably larger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductInsertBenchmark {
+
+    private static final int ROWS_PER_OPERATION = 500;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String INSERT_WITH_IDENTITY =
+            "INSERT INTO products (sku, name, price, currency, description, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_WITH_ID =
+            "INSERT INTO products (id, sku, name, price, currency, description, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum Strategy {
+        IDENTITY,
+        POOLED_SEQUENCE
+    }
+
+    @Param
+    public Strategy strategy;
+
+    private Connection connection;
+    private long skuCounter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:insert_bench_" + strategy + ";MODE=PostgreSQL", "sa", "");
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE products (
+                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        sku VARCHAR(64) NOT NULL UNIQUE,
+                        name VARCHAR(128) NOT NULL,
+                        price NUMERIC(19,2) NOT NULL,
+                        currency VARCHAR(3) NOT NULL,
+                        description VARCHAR(512),
+                        created_at TIMESTAMP NOT NULL,
+                        updated_at TIMESTAMP NOT NULL
+                    )""");
+            statement.execute("CREATE SEQUENCE products_seq START WITH 100 INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.commit();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE products");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_OPERATION)
+    public long insertProducts() throws SQLException {
+        long checksum = strategy == Strategy.IDENTITY
+                ? insertWithIdentity()
+                : insertWithPooledSequence();
+        connection.commit();
+        return checksum;
+    }
+
+    private long insertWithIdentity() throws SQLException {
+        long checksum = 0;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_WITH_IDENTITY, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS_PER_OPERATION; i++) {
+                bindProduct(insert, 1);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    checksum += keys.getLong(1);
+                }
+            }
+        }
+        return checksum;
+    }
+
+    private long insertWithPooledSequence() throws SQLException {
+        long checksum = 0;
+        long nextId = 0;
+        long blockEnd = -1;
+
+        try (PreparedStatement sequence = connection.prepareStatement("SELECT NEXT VALUE FOR products_seq");
+             PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID)) {
+            for (int i = 0; i < ROWS_PER_OPERATION; i++) {
+                if (nextId > blockEnd) {
+                    try (ResultSet rs = sequence.executeQuery()) {
+                        rs.next();
+                        blockEnd = rs.getLong(1);
+                        nextId = blockEnd - ALLOCATION_SIZE + 1;
+                    }
+                }
+
+                long id = nextId++;
+                insert.setLong(1, id);
+                bindProduct(insert, 2);
+                insert.addBatch();
+                checksum += id;
+
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        return checksum;
+    }
+
+    private void bindProduct(PreparedStatement insert, int firstIndex) throws SQLException {
+        long n = skuCounter++;
+        Timestamp now = Timestamp.from(Instant.now());
+
+        insert.setString(firstIndex, "SKU-BENCH-" + n);
+        insert.setString(firstIndex + 1, "Benchmark product " + n);
+        insert.setBigDecimal(firstIndex + 2, BigDecimal.valueOf(n % 10_000, 2));
+        insert.setString(firstIndex + 3, "EUR");
+        insert.setString(firstIndex + 4, "Inserted by ProductInsertBenchmark");
+        insert.setTimestamp(firstIndex + 5, now);
+        insert.setTimestamp(firstIndex + 6, now);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ing.tema.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ing.tema.dtos.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a large catalog page in each wire format the product endpoints negotiate.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductWireFormatBenchmark {
+
+    private static final TypeReference<List<ProductResponse>> CATALOG = new TypeReference<>() {
+    };
+
+    public enum Format {
+        JSON,
+        CBOR,
+        SMILE
+    }
+
+    @Param
+    public Format format;
+
+    @Param({"10000"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private List<ProductResponse> page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case JSON -> new ObjectMapper();
+            case CBOR -> new ObjectMapper(new CBORFactory());
+            case SMILE -> new ObjectMapper(new SmileFactory());
+        };
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(new ProductResponse(
+                    (long) i,
+                    "SKU-BENCH-" + i,
+                    "Benchmark product " + i,
+                    BigDecimal.valueOf(100 + i % 10_000, 2),
+                    "EUR",
+                    "Catalog entry " + i + " used to measure wire format cost"
+            ));
+        }
+
+        encoded = mapper.writeValueAsBytes(page);
+        System.out.printf("%n%s payload for %d products: %d bytes%n", format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<ProductResponse> deserialize() throws IOException {
+        return mapper.readValue(encoded, CATALOG);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ing.tema.benchmarks;
+
+import com.ing.tema.configuration.RateLimitProperties;
+import com.ing.tema.security.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limiter on the admitted path, single-threaded and with
+ * all threads contending on one principal's bucket:
+ * <pre>mvn -Pbenchmark verify -Dbenchmark.include=RateLimiter</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private RateLimiter rateLimiter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RateLimitProperties.Group api = new RateLimitProperties.Group();
+        api.setName("api");
+        api.setPaths(List.of("/api/**"));
+        api.setCapacity(Integer.MAX_VALUE);
+        api.setRefillTokens(Integer.MAX_VALUE);
+        api.setRefillPeriod(Duration.ofNanos(1));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(List.of(api));
+        rateLimiter = new RateLimiter(properties);
+    }
+
+    @Benchmark
+    public long samePrincipal() {
+        return rateLimiter.tryAcquire("GET", "/api/products/42", "alice", "10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long samePrincipalContended() {
+        return rateLimiter.tryAcquire("GET", "/api/products/42", "alice", "10.0.0.1");
+    }
+}
@@ -0,0 +1,124 @@
+package com.ing.tema.benchmarks;
+
+import com.ing.tema.TemaApplication;
+import com.ing.tema.configuration.FastStartConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the servlet application, one start per forked JVM, with and without the
+ * {@code fast-start} profile. After each start the phases recorded by Spring's
+ * {@link BufferingApplicationStartup} are printed: Liquibase, the JPA entity manager factory
+ * (Hibernate metamodel), springdoc and the slowest beans.
+ * <p>
+ * AOT and CDS live outside this JVM; measure them by appending the launch flags, e.g.
+ * {@code -jvmArgsAppend "-XX:SharedArchiveFile=target/fast-start/application.jsa -Dspring.aot.enabled=true"}
+ * after {@code mvn -Pfast-start package}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    private static final int SLOWEST_BEANS = 5;
+
+    // a persistent schema, as in production, so only the first fork has to migrate it
+    private static final String DATABASE_URL =
+            "jdbc:h2:file:" + System.getProperty("java.io.tmpdir") + "/tema-startup-benchmark;MODE=PostgreSQL";
+
+    public enum Profile {
+        DEFAULT,
+        FAST_START
+    }
+
+    @Param
+    public Profile profile;
+
+    private BufferingApplicationStartup startup;
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        startup = new BufferingApplicationStartup(20_000);
+        SpringApplication application = new SpringApplication(TemaApplication.class);
+        application.setApplicationStartup(startup);
+        if (profile == Profile.FAST_START) {
+            application.setAdditionalProfiles(FastStartConfig.PROFILE);
+        }
+        context = application.run("--server.port=0", "--spring.main.banner-mode=off", "--spring.datasource.url=" + DATABASE_URL);
+        return context;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        printPhases(startup.getBufferedTimeline());
+        context.close();
+    }
+
+    private void printPhases(StartupTimeline timeline) {
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            switch (step.getName()) {
+                case "spring.boot.application.environment-prepared" -> phases.put("environment", event.getDuration());
+                case "spring.context.beandef-registry.post-process" -> phases.merge("bean definitions", event.getDuration(), Duration::plus);
+                case "spring.context.refresh" -> phases.put("context refresh", event.getDuration());
+                case "spring.beans.instantiate" -> {
+                    String bean = beanName(step);
+                    if ("liquibase".equals(bean)) {
+                        phases.put("liquibase", event.getDuration());
+                    } else if ("entityManagerFactory".equals(bean)) {
+                        phases.put("jpa / hibernate metamodel", event.getDuration());
+                    } else if (bean != null && isOpenApiBean(bean)) {
+                        phases.merge("springdoc", event.getDuration(), Duration::plus);
+                    }
+                    beans.add(event);
+                }
+                default -> {
+                }
+            }
+        }
+
+        StringBuilder report = new StringBuilder("\nStartup phases (" + profile + "):\n");
+        phases.forEach((phase, duration) -> report.append(String.format("  %-28s %6d ms%n", phase, duration.toMillis())));
+        report.append("  slowest beans (inclusive of their dependencies):\n");
+        beans.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .forEach(event -> report.append(String.format("    %-50s %6d ms%n",
+                        beanName(event.getStartupStep()), event.getDuration().toMillis())));
+        System.out.print(report);
+    }
+
+    private static boolean isOpenApiBean(String bean) {
+        String name = bean.toLowerCase(Locale.ROOT);
+        return name.contains("springdoc") || name.contains("openapi") || name.contains("swagger");
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.ing.tema.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.ClusterProperties;
+import com.ing.tema.configuration.ResponseCacheProperties;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.entities.Product;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductBatchChangedEvent;
+import com.ing.tema.events.RemoteProductChangedEvent;
+import com.ing.tema.services.ProductResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClusterCoordinatorTest {
+
+    private final InProcessClusterTransport.Network network = new InProcessClusterTransport.Network();
+
+    private ApplicationEventPublisher publisherA;
+    private ApplicationEventPublisher publisherB;
+    private Cache hibernateCacheB;
+    private ClusterCoordinator nodeA;
+    private ClusterCoordinator nodeB;
+
+    @BeforeEach
+    void setUp() {
+        publisherA = mock(ApplicationEventPublisher.class);
+        publisherB = mock(ApplicationEventPublisher.class);
+        hibernateCacheB = mock(Cache.class);
+        nodeA = node("node-a", publisherA, mock(Cache.class));
+        nodeB = node("node-b", publisherB, hibernateCacheB);
+    }
+
+    private ClusterCoordinator node(String nodeId, ApplicationEventPublisher publisher, Cache hibernateCache) {
+        return node(nodeId, publisher, hibernateCache, Runnable::run);
+    }
+
+    private ClusterCoordinator node(String nodeId, ApplicationEventPublisher publisher, Cache hibernateCache,
+                                    Executor publishExecutor) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setNodeId(nodeId);
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        jakarta.persistence.Cache jpaCache = mock(jakarta.persistence.Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        when(jpaCache.unwrap(Cache.class)).thenReturn(hibernateCache);
+
+        return new ClusterCoordinator(new InProcessClusterTransport(network), publisher, entityManagerFactory,
+                properties, new SimpleMeterRegistry(), publishExecutor);
+    }
+
+    private static ProductChangedEvent priceChange() {
+        ProductResponse before = new ProductResponse(7L, "SKU-7", "P", BigDecimal.ONE, "EUR", null);
+        ProductResponse after = new ProductResponse(7L, "SKU-7", "P", BigDecimal.TEN, "EUR", null);
+        return ProductChangedEvent.priceChanged(before, after,
+                new ProductChangedEvent.Actor("admin", "PUT", "/api/products/7/price", "idem-7"));
+    }
+
+    @Test
+    void productChange_shouldBeRepublishedOnOtherNodesOnly() {
+        ProductChangedEvent change = priceChange();
+
+        nodeA.onProductChanged(change);
+
+        ArgumentCaptor<RemoteProductChangedEvent> captor = ArgumentCaptor.forClass(RemoteProductChangedEvent.class);
+        verify(publisherB).publishEvent(captor.capture());
+        RemoteProductChangedEvent remote = captor.getValue();
+        assertEquals("node-a", remote.originNode());
+        assertEquals(change.type(), remote.change().type());
+        assertEquals(change.before(), remote.change().before());
+        assertEquals(change.after(), remote.change().after());
+        assertNull(remote.change().actor());
+
+        verifyNoInteractions(publisherA);
+        assertEquals(1, nodeA.sentCount());
+        assertEquals(0, nodeA.receivedCount());
+        assertEquals(1, nodeB.receivedCount());
+    }
+
+    @Test
+    void changes_shouldBePublishedOffTheCommittingThreadInOneFlush() {
+        List<Runnable> publisherThread = new ArrayList<>();
+        ClusterCoordinator nodeC = node("node-c", mock(ApplicationEventPublisher.class), mock(Cache.class), publisherThread::add);
+
+        nodeC.onProductChanged(priceChange());
+        nodeC.onProductChanged(priceChange());
+        nodeC.onProductChanged(priceChange());
+
+        verifyNoInteractions(publisherB);
+        assertEquals(1, publisherThread.size());
+
+        publisherThread.get(0).run();
+
+        verify(publisherB, times(3)).publishEvent(any(RemoteProductChangedEvent.class));
+        assertEquals(3, nodeC.sentCount());
+    }
+
+    @Test
+    void productChange_shouldEvictHibernateCachesOnReceiver() {
+        nodeA.onProductChanged(priceChange());
+
+        verify(hibernateCacheB).evictEntityData(Product.class, 7L);
+        verify(hibernateCacheB).evictNaturalIdData(Product.class);
+        verify(hibernateCacheB).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void importedChunk_shouldTravelAsIdBatches() {
+        List<ProductChangedEvent> changes = LongStream.rangeClosed(1, ClusterCoordinator.MAX_IDS_PER_MESSAGE + 1)
+                .mapToObj(id -> ProductChangedEvent.created(new ProductResponse(id, "SKU-" + id, "P", BigDecimal.ONE, "EUR", null)))
+                .toList();
+
+        nodeA.onProductsChanged(new ProductBatchChangedEvent(changes, Instant.now(), null));
+
+        ArgumentCaptor<RemoteProductBatchChangedEvent> captor = ArgumentCaptor.forClass(RemoteProductBatchChangedEvent.class);
+        verify(publisherB, times(2)).publishEvent(captor.capture());
+        assertEquals(ClusterCoordinator.MAX_IDS_PER_MESSAGE, captor.getAllValues().get(0).productIds().size());
+        assertEquals(List.of((long) ClusterCoordinator.MAX_IDS_PER_MESSAGE + 1), captor.getAllValues().get(1).productIds());
+        assertEquals(2, nodeA.sentCount());
+        verify(hibernateCacheB).evictEntityData(Product.class, 1L);
+        verify(hibernateCacheB, times(2)).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void batchMessage_shouldSurviveJsonRoundTrip() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ClusterMessage message = ClusterMessage.productsChanged("node-a", List.of(1L, 2L), Instant.now());
+
+        assertEquals(message, objectMapper.readValue(objectMapper.writeValueAsString(message), ClusterMessage.class));
+    }
+
+    @Test
+    void remoteChange_shouldEvictResponseCache() {
+        ProductResponseCache cache = new ProductResponseCache(new ObjectMapper(), new ResponseCacheProperties());
+        ProductResponse cached = new ProductResponse(7L, "SKU-7", "P", BigDecimal.ONE, "EUR", null);
+        cache.getProduct(7L, () -> cached);
+        doAnswer(invocation -> {
+            cache.onRemoteProductChanged(invocation.getArgument(0));
+            return null;
+        }).when(publisherB).publishEvent(any(RemoteProductChangedEvent.class));
+
+        nodeA.onProductChanged(priceChange());
+
+        ProductResponse reloaded = cache.getProduct(7L,
+                () -> new ProductResponse(7L, "SKU-7", "P", BigDecimal.TEN, "EUR", null));
+        assertEquals(BigDecimal.TEN, reloaded.price());
+    }
+
+    @Test
+    void clusterMessage_shouldSurviveJsonRoundTrip() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ClusterMessage message = ClusterMessage.productChanged("node-a", priceChange());
+
+        String json = objectMapper.writeValueAsString(message);
+
+        assertEquals(message, objectMapper.readValue(json, ClusterMessage.class));
+    }
+}
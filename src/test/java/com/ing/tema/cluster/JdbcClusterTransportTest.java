@@ -0,0 +1,203 @@
+package com.ing.tema.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.ClusterProperties;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcClusterTransportTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private DriverManagerDataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:cluster_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    private JdbcClusterTransport transport(Duration gapTimeout) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setGapTimeout(gapTimeout);
+        return new JdbcClusterTransport(jdbcTemplate, transactionManager, objectMapper, properties);
+    }
+
+    private static List<Long> subscribe(JdbcClusterTransport transport) {
+        List<Long> received = new ArrayList<>();
+        transport.subscribe(message -> received.add(message.productIds().get(0)));
+        // the first poll only fixes the starting point
+        transport.poll();
+        return received;
+    }
+
+    @Test
+    void publishAfterCommit_shouldBeVisibleToOtherConnectionsAndNodes() throws Exception {
+        JdbcClusterTransport sender = transport(Duration.ofMinutes(1));
+        JdbcClusterTransport receiver = transport(Duration.ofMinutes(1));
+        List<Long> received = subscribe(receiver);
+        List<Long> visibleInAfterCommit = new ArrayList<>();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("update products set name = 'Renamed' where id = 1");
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // the committed transaction's connection is still bound here
+                    sender.publish(message("node-a", 1L));
+                    visibleInAfterCommit.add(countFromOtherConnection());
+                }
+            });
+        });
+
+        assertEquals(List.of(1L), visibleInAfterCommit);
+        receiver.poll();
+        assertEquals(List.of(1L), received);
+    }
+
+    @Test
+    void poll_shouldDeliverEachMessageOnceInIdOrder() {
+        JdbcClusterTransport sender = transport(Duration.ofMinutes(1));
+        JdbcClusterTransport receiver = transport(Duration.ofMinutes(1));
+        List<Long> received = subscribe(receiver);
+
+        sender.publish(message("node-a", 1L));
+        sender.publish(message("node-a", 2L));
+        receiver.poll();
+        receiver.poll();
+
+        assertEquals(List.of(1L, 2L), received);
+    }
+
+    @Test
+    void publishAll_shouldInsertTheBatchTogether() {
+        JdbcClusterTransport sender = transport(Duration.ofMinutes(1));
+        JdbcClusterTransport receiver = transport(Duration.ofMinutes(1));
+        List<Long> received = subscribe(receiver);
+
+        sender.publishAll(List.of(message("node-a", 1L), message("node-a", 2L), message("node-a", 3L)));
+        receiver.poll();
+
+        assertEquals(List.of(1L, 2L, 3L), received);
+    }
+
+    @Test
+    void poll_shouldWaitForGapToFill() throws Exception {
+        JdbcClusterTransport sender = transport(Duration.ofMinutes(1));
+        JdbcClusterTransport receiver = transport(Duration.ofMinutes(1));
+        List<Long> received = subscribe(receiver);
+
+        try (Connection inFlight = dataSource.getConnection()) {
+            inFlight.setAutoCommit(false);
+            insertMessage(inFlight, 3L);
+            sender.publish(message("node-a", 4L));
+
+            receiver.poll();
+            assertEquals(List.of(4L), received);
+            assertEquals(maxId() - 2, receiver.floor());
+
+            inFlight.commit();
+        }
+
+        receiver.poll();
+        assertEquals(List.of(4L, 3L), received);
+        assertEquals(maxId(), receiver.floor());
+    }
+
+    @Test
+    void poll_shouldGiveUpOnGapAfterTimeout() throws Exception {
+        JdbcClusterTransport sender = transport(Duration.ZERO);
+        JdbcClusterTransport receiver = transport(Duration.ZERO);
+        List<Long> received = subscribe(receiver);
+
+        try (Connection rolledBack = dataSource.getConnection()) {
+            rolledBack.setAutoCommit(false);
+            insertMessage(rolledBack, 5L);
+            sender.publish(message("node-a", 6L));
+            rolledBack.rollback();
+        }
+
+        // opens the gap, then gives up on it
+        receiver.poll();
+        receiver.poll();
+        sender.publish(message("node-a", 7L));
+        receiver.poll();
+
+        assertEquals(List.of(6L, 7L), received);
+        assertEquals(maxId(), receiver.floor());
+    }
+
+    @Test
+    void poll_shouldStartFromMessagesPublishedAfterSubscribing() {
+        JdbcClusterTransport sender = transport(Duration.ofMinutes(1));
+        sender.publish(message("node-a", 8L));
+        JdbcClusterTransport receiver = transport(Duration.ofMinutes(1));
+        List<Long> received = subscribe(receiver);
+
+        sender.publish(message("node-a", 9L));
+        receiver.poll();
+
+        assertEquals(List.of(9L), received);
+    }
+
+    private static ClusterMessage message(String originNode, long productId) {
+        return ClusterMessage.productsChanged(originNode, List.of(productId), Instant.now());
+    }
+
+    private void insertMessage(Connection connection, long productId) throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into cluster_messages (origin_node, payload, created_at) values (?, ?, ?)")) {
+            insert.setString(1, "node-c");
+            insert.setString(2, objectMapper.writeValueAsString(message("node-c", productId)));
+            insert.setTimestamp(3, Timestamp.from(Instant.now()));
+            insert.executeUpdate();
+        }
+    }
+
+    private long countFromOtherConnection() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("select count(*) from cluster_messages");
+             ResultSet rs = select.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private long maxId() {
+        return jdbcTemplate.queryForObject("select max(id) from cluster_messages", Long.class);
+    }
+}
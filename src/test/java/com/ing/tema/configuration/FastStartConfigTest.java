@@ -0,0 +1,42 @@
+package com.ing.tema.configuration;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastStartConfigTest {
+
+    @Test
+    void liquibase_shouldKeepEverySpringLiquibaseSetting() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:unused", "sa", "");
+        LiquibaseProperties liquibaseProperties = new LiquibaseProperties();
+        liquibaseProperties.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibaseProperties.setContexts(List.of("prod", "eu"));
+        liquibaseProperties.setLabelFilter(List.of("catalog"));
+        liquibaseProperties.setDefaultSchema("store");
+        liquibaseProperties.setLiquibaseSchema("migrations");
+        liquibaseProperties.setDatabaseChangeLogTable("changelog");
+        liquibaseProperties.setDropFirst(true);
+        liquibaseProperties.setClearChecksums(true);
+        liquibaseProperties.setTag("v1");
+        liquibaseProperties.setEnabled(false);
+
+        SpringLiquibase liquibase = new FastStartConfig().liquibase(dataSource, liquibaseProperties, new FastStartProperties());
+
+        assertSame(dataSource, liquibase.getDataSource());
+        assertEquals("classpath:db/changelog/db.changelog-master.yaml", liquibase.getChangeLog());
+        assertEquals("prod,eu", liquibase.getContexts());
+        assertEquals("catalog", liquibase.getLabelFilter());
+        assertEquals("store", liquibase.getDefaultSchema());
+        assertEquals("migrations", liquibase.getLiquibaseSchema());
+        assertEquals("changelog", liquibase.getDatabaseChangeLogTable());
+        assertTrue(liquibase.isDropFirst());
+        assertTrue(liquibase.isClearCheckSums());
+        assertEquals("v1", liquibase.getTag());
+    }
+}
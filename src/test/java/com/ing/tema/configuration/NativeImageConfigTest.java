@@ -0,0 +1,42 @@
+package com.ing.tema.configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.ing.tema.cluster.ClusterMessage;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeImageConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void hints_shouldCoverIncludedChangelogs() {
+        new NativeImageConfig.Hints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/changelog/db.changelog-1.6-schema-fingerprint.yaml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("reference.conf").test(hints));
+    }
+
+    @Test
+    void hints_shouldCoverProvidersLoadedByName() {
+        new NativeImageConfig.Hints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CaffeineCachingProvider.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(JCacheRegionFactory.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void clusterMessage_shouldBeRegisteredForBinding() {
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, NativeImageConfig.class);
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ClusterMessage.class).test(hints));
+    }
+}
@@ -3,6 +3,7 @@ package com.ing.tema.controllers;
 import com.ing.tema.dtos.ChangePriceRequest;
 import com.ing.tema.dtos.CreateProductRequest;
 import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.services.FxRateService;
 import com.ing.tema.services.ProductService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +30,9 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private FxRateService fxRateService;
+
     @InjectMocks
     private ProductController productController;
 
@@ -76,7 +80,7 @@ class ProductControllerTest {
         when(productService.getProductById(id)).thenReturn(serviceResponse);
 
 
-        ResponseEntity<ProductResponse> response = productController.getProductById(id);
+        ResponseEntity<ProductResponse> response = productController.getProductById(id, null);
 
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -98,7 +102,7 @@ class ProductControllerTest {
         when(productService.getProductBySku(sku)).thenReturn(serviceResponse);
 
 
-        ResponseEntity<ProductResponse> response = productController.getProductBySku(sku);
+        ResponseEntity<ProductResponse> response = productController.getProductBySku(sku, null);
 
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -119,7 +123,7 @@ class ProductControllerTest {
         when(productService.listProducts()).thenReturn(List.of(p1, p2));
 
 
-        ResponseEntity<List<ProductResponse>> response = productController.listProducts();
+        ResponseEntity<List<ProductResponse>> response = productController.listProducts(null);
 
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -132,6 +136,26 @@ class ProductControllerTest {
     }
 
 
+    @Test
+    void listProducts_shouldConvertWhenCurrencyRequested() {
+
+        List<ProductResponse> products = List.of(new ProductResponse(1L, "SKU-1", "P1", BigDecimal.ONE, "EUR", "D1"));
+        List<ProductResponse> converted = List.of(new ProductResponse(1L, "SKU-1", "P1", new BigDecimal("1.08"), "USD", "D1"));
+
+        when(productService.listProducts()).thenReturn(products);
+        when(fxRateService.convertAll(products, "USD")).thenReturn(converted);
+
+
+        ResponseEntity<List<ProductResponse>> response = productController.listProducts("USD");
+
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(converted, response.getBody());
+
+        verify(fxRateService).convertAll(products, "USD");
+    }
+
+
     @Test
     void changePrice_shouldReturnOkAndUpdatedProduct() {
 
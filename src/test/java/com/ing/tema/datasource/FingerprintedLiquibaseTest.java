@@ -0,0 +1,92 @@
+package com.ing.tema.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintedLiquibaseTest {
+
+    private static final String CHANGELOG_PATTERN = "classpath*:db/changelog/*.yaml";
+
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:fingerprint_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+    }
+
+    private FingerprintedLiquibase liquibase() {
+        FingerprintedLiquibase liquibase = new FingerprintedLiquibase(CHANGELOG_PATTERN);
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        return liquibase;
+    }
+
+    @Test
+    void firstRun_shouldMigrateAndRecordFingerprint() throws Exception {
+        FingerprintedLiquibase liquibase = liquibase();
+
+        liquibase.afterPropertiesSet();
+
+        assertTrue(tableExists("PRODUCTS"));
+        assertEquals(1, count("select count(*) from schema_fingerprint where fingerprint = '" + liquibase.fingerprint() + "'"));
+    }
+
+    @Test
+    void unchangedChangelog_shouldSkipLiquibase() throws Exception {
+        liquibase().afterPropertiesSet();
+        // a real run would now fail checksum validation
+        execute("update databasechangelog set md5sum = '9:00000000000000000000000000000000'");
+
+        assertDoesNotThrow(() -> liquibase().afterPropertiesSet());
+        assertEquals(1, count("select count(*) from schema_fingerprint"));
+    }
+
+    @Test
+    void changedFingerprint_shouldRunLiquibaseAgain() throws Exception {
+        liquibase().afterPropertiesSet();
+        execute("update schema_fingerprint set fingerprint = 'stale'");
+        int changeSets = count("select count(*) from databasechangelog");
+
+        liquibase().afterPropertiesSet();
+
+        assertEquals(changeSets, count("select count(*) from databasechangelog"));
+        assertEquals(2, count("select count(*) from schema_fingerprint"));
+    }
+
+    @Test
+    void fingerprint_shouldBeStableAcrossInstances() {
+        assertEquals(liquibase().fingerprint(), liquibase().fingerprint());
+    }
+
+    private boolean tableExists(String table) throws SQLException {
+        return count("select count(*) from information_schema.tables where table_name = '" + table + "'") > 0;
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ing.tema.datasource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the full changelog against a local PostgreSQL binary (no network) and checks the
+ * PostgreSQL-only indexes are in place and used by the queries they were added for.
+ */
+class PostgresSchemaTest {
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void changelog_shouldReplacePortableConstraintsWithTunedIndexes() throws SQLException {
+        List<String> indexes = query("select indexname from pg_indexes where schemaname = 'public'");
+
+        assertTrue(indexes.contains("uk_products_sku_covering"));
+        assertTrue(indexes.contains("uk_idempotency_keys_owner_key"));
+        assertTrue(indexes.contains("brin_products_created_at"));
+        assertTrue(indexes.contains("brin_idempotency_keys_created_at"));
+        assertTrue(indexes.contains("idx_audit_log_principal_occurred_at_partial"));
+        assertFalse(indexes.contains("products_sku_key"));
+        assertFalse(indexes.contains("uc_idempotency_key_owner"));
+        assertFalse(indexes.contains("idx_audit_log_principal_occurred_at"));
+    }
+
+    @Test
+    void idempotencyIndex_shouldStillRejectReusedKey() throws SQLException {
+        String insert = "insert into idempotency_keys (id, idempotency_key, owner, http_method, path) "
+                + "values (nextval('idempotency_keys_seq'), 'idem-pg', 'admin', 'POST', '/api/products')";
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(insert);
+
+            SQLException ex = assertThrows(SQLException.class, () -> statement.executeUpdate(insert));
+            assertEquals("23505", ex.getSQLState());
+        }
+    }
+
+    @Test
+    void existsQueries_shouldUseIndexOnlyScans() throws SQLException {
+        assertPlanUses("explain select id from products where sku = 'SKU-APPLE-001'",
+                "Index Only Scan using uk_products_sku_covering");
+        assertPlanUses("explain select id from idempotency_keys where idempotency_key = 'k' and owner = 'admin'",
+                "Index Only Scan using uk_idempotency_keys_owner_key");
+    }
+
+    @Test
+    void auditQueryByPrincipal_shouldUsePartialIndexWithoutSort() throws SQLException {
+        String plan = assertPlanUses("explain select id from audit_log where principal = 'admin' "
+                + "order by occurred_at desc, id desc limit 100", "idx_audit_log_principal_occurred_at_partial");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void skuIndex_shouldStillRejectDuplicateSku() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            SQLException ex = assertThrows(SQLException.class, () -> statement.executeUpdate(
+                    "insert into products (id, sku, name, price, currency) "
+                            + "values (nextval('products_seq'), 'SKU-APPLE-001', 'Apple', 1, 'EUR')"));
+            assertEquals("23505", ex.getSQLState());
+        }
+        List<String> constraints = query("select conname from pg_constraint "
+                + "where conrelid = 'products'::regclass and contype = 'u'");
+        assertEquals(List.of(), constraints);
+    }
+
+    private String assertPlanUses(String explain, String expected) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("vacuum analyze");
+            statement.execute("set enable_seqscan = off");
+            statement.execute("set enable_bitmapscan = off");
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery(explain)) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            assertTrue(plan.toString().contains(expected), plan::toString);
+            return plan.toString();
+        }
+    }
+
+    private List<String> query(String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows.add(rs.getString(1));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,175 @@
+package com.ing.tema.datasource;
+
+import com.ing.tema.configuration.ReplicaRoutingProperties.Balancing;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.entities.Product;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.RemoteProductBatchChangedEvent;
+import com.ing.tema.services.ProductResponseCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_0_URL = "jdbc:h2:mem:routing_replica0;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_1_URL = "jdbc:h2:mem:routing_replica1;DB_CLOSE_DELAY=-1";
+
+    private final ReplicaNode replica0 = new ReplicaNode("replica-0", h2(REPLICA_0_URL));
+    private final ReplicaNode replica1 = new ReplicaNode("replica-1", h2(REPLICA_1_URL));
+
+    private static JdbcDataSource h2(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    private static String urlOf(ReplicaRoutingDataSource routing) throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            String url = connection.getMetaData().getURL();
+            int settings = url.indexOf(';');
+            return settings < 0 ? url : url.substring(0, settings);
+        }
+    }
+
+    private ReplicaRoutingDataSource routing(Balancing balancing) {
+        return routing(balancing, Duration.ofMinutes(1));
+    }
+
+    private ReplicaRoutingDataSource routing(Balancing balancing, Duration primaryAfterWrite) {
+        return new ReplicaRoutingDataSource(h2(PRIMARY_URL), List.of(replica0, replica1), balancing, primaryAfterWrite);
+    }
+
+    private static ProductChangedEvent createdBy(String principal) {
+        ProductResponse product = new ProductResponse(1L, "SKU-1", "Product 1", BigDecimal.TEN, "EUR", null);
+        return ProductChangedEvent.created(product, new ProductChangedEvent.Actor(principal, "POST", "/api/products", null));
+    }
+
+    private static void authenticate(String principal) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(principal, null));
+    }
+
+    @AfterEach
+    void clearReadOnlyFlag() {
+        setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+
+    @Test
+    void getConnection_shouldUsePrimary_whenNotReadOnly() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Balancing.ROUND_ROBIN);
+
+        assertEquals("jdbc:h2:mem:routing_primary", urlOf(routing));
+    }
+
+    @Test
+    void getConnection_shouldAlternateReplicas_whenReadOnlyRoundRobin() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Balancing.ROUND_ROBIN);
+        setCurrentTransactionReadOnly(true);
+
+        String first = urlOf(routing);
+        String second = urlOf(routing);
+
+        assertTrue(first.startsWith("jdbc:h2:mem:routing_replica"));
+        assertTrue(second.startsWith("jdbc:h2:mem:routing_replica"));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void getConnection_shouldSkipUnhealthyReplica() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Balancing.LEAST_CONNECTIONS);
+        replica0.markUnhealthy(Duration.ofMinutes(1));
+        setCurrentTransactionReadOnly(true);
+
+        assertEquals("jdbc:h2:mem:routing_replica1", urlOf(routing));
+        assertEquals("jdbc:h2:mem:routing_replica1", urlOf(routing));
+    }
+
+    @Test
+    void getConnection_shouldFallBackToPrimary_whenAllReplicasLag() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Balancing.ROUND_ROBIN);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(replica0, replica1), Duration.ofSeconds(5), "SELECT 60");
+        monitor.checkReplicas();
+        setCurrentTransactionReadOnly(true);
+
+        assertFalse(replica0.isHealthy());
+        assertFalse(replica1.isHealthy());
+        assertEquals("jdbc:h2:mem:routing_primary", urlOf(routing));
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryForWriterReads_rightAfterWrite() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Balancing.ROUND_ROBIN);
+        setCurrentTransactionReadOnly(true);
+        authenticate("alice");
+        assertTrue(urlOf(routing).startsWith("jdbc:h2:mem:routing_replica"));
+
+        new ReplicaReadAfterWrite(routing, mock(ProductResponseCache.class), mock(EntityManagerFactory.class),
+                mock(TaskScheduler.class), Duration.ofMinutes(1)).beforeProductChanged(createdBy("alice"));
+
+        assertEquals("jdbc:h2:mem:routing_primary", urlOf(routing));
+        assertEquals("jdbc:h2:mem:routing_primary", urlOf(routing));
+
+        authenticate("bob");
+        assertTrue(urlOf(routing).startsWith("jdbc:h2:mem:routing_replica"));
+        SecurityContextHolder.clearContext();
+        assertTrue(urlOf(routing).startsWith("jdbc:h2:mem:routing_replica"));
+    }
+
+    @Test
+    void getConnection_shouldReturnToReplicas_afterWriteWindow() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Balancing.ROUND_ROBIN, Duration.ZERO);
+        setCurrentTransactionReadOnly(true);
+        authenticate("alice");
+
+        routing.writeCommitted("alice");
+
+        assertTrue(urlOf(routing).startsWith("jdbc:h2:mem:routing_replica"));
+    }
+
+    @Test
+    void productChange_shouldEvictCachesAgainAfterWriteWindow() {
+        ProductResponseCache responseCache = mock(ProductResponseCache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS);
+        Cache secondLevelCache = mock(Cache.class);
+        when(entityManagerFactory.getCache().unwrap(Cache.class)).thenReturn(secondLevelCache);
+        TaskScheduler taskScheduler = mock(TaskScheduler.class);
+        ReplicaReadAfterWrite readAfterWrite = new ReplicaReadAfterWrite(routing(Balancing.ROUND_ROBIN),
+                responseCache, entityManagerFactory, taskScheduler, Duration.ofMinutes(1));
+
+        readAfterWrite.onRemoteProductsChanged(new RemoteProductBatchChangedEvent(List.of(1L, 2L), "node-b"));
+
+        ArgumentCaptor<Runnable> eviction = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(eviction.capture(), any(Instant.class));
+        verifyNoInteractions(responseCache, secondLevelCache);
+
+        eviction.getValue().run();
+
+        verify(secondLevelCache).evictEntityData(Product.class, 1L);
+        verify(secondLevelCache).evictEntityData(Product.class, 2L);
+        verify(secondLevelCache).evictNaturalIdData(Product.class);
+        verify(secondLevelCache).evictDefaultQueryRegion();
+        verify(responseCache).evictAll(List.of(1L, 2L));
+    }
+}
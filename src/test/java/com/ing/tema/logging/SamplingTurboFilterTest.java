@@ -0,0 +1,49 @@
+package com.ing.tema.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.addLogger("com.ing.tema.controllers.AuthController");
+        filter.setRate(3);
+        filter.start();
+    }
+
+    private FilterReply decide(String loggerName, Level level) {
+        Logger logger = context.getLogger(loggerName);
+        return filter.decide(null, logger, level, "msg", null, null);
+    }
+
+    @Test
+    void decide_shouldPassOneInRateInfoEventsForSampledLoggers() {
+        int passed = 0;
+        for (int i = 0; i < 9; i++) {
+            if (decide("com.ing.tema.controllers.AuthController", Level.INFO) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+        assertEquals(3, passed);
+    }
+
+    @Test
+    void decide_shouldNeverSampleWarningsOrOtherLoggers() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide("com.ing.tema.controllers.AuthController", Level.WARN));
+            assertEquals(FilterReply.NEUTRAL, decide("com.ing.tema.services.ProductService", Level.INFO));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ing.tema.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRatesTest {
+
+    private final FxRates rates = FxRates.of("eur", Map.of(
+            "USD", new BigDecimal("1.08"),
+            "RON", new BigDecimal("4.97"),
+            "JPY", new BigDecimal("162.5"),
+            "KWD", new BigDecimal("0.333")
+    ), Instant.now());
+
+    @Test
+    void convert_shouldUseBaseAndCrossRates() {
+        assertEquals(new BigDecimal("10.80"), rates.convert(Money.of(new BigDecimal("10.00"), "EUR"), "USD"));
+        assertEquals(new BigDecimal("10.00"), rates.convert(Money.of(new BigDecimal("10.80"), "USD"), "EUR"));
+        assertEquals(new BigDecimal("46.02"), rates.convert(Money.of(new BigDecimal("10.00"), "USD"), "RON"));
+    }
+
+    @Test
+    void convert_shouldRoundToMinorUnitsOfTargetCurrency() {
+        assertEquals(new BigDecimal("1625"), rates.convert(Money.of(new BigDecimal("10.00"), "EUR"), "JPY"));
+        assertEquals(new BigDecimal("3.330"), rates.convert(Money.of(new BigDecimal("10.00"), "EUR"), "KWD"));
+        assertEquals(new BigDecimal("0.62"), rates.convert(Money.of(new BigDecimal("100"), "JPY"), "EUR"));
+    }
+
+    @Test
+    void convert_shouldReturnNullForUnknownCurrency() {
+        assertNull(rates.convert(Money.of(BigDecimal.TEN, "EUR"), "GBP"));
+        assertNull(rates.convert(Money.of(BigDecimal.TEN, "GBP"), "EUR"));
+    }
+
+    @Test
+    void of_shouldNormalizeBaseAndRejectNonPositiveRates() {
+        assertEquals("EUR", rates.baseCurrency());
+        assertEquals(BigDecimal.ONE, rates.rates().get("EUR"));
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> FxRates.of("EUR", Map.of("USD", BigDecimal.ZERO), Instant.now())
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> FxRates.of("EUR", Map.of("EUR", new BigDecimal("2")), Instant.now())
+        );
+    }
+
+    @Test
+    void of_shouldRejectMissingCurrency() {
+        Map<String, BigDecimal> nullKey = new HashMap<>();
+        nullKey.put(null, BigDecimal.ONE);
+
+        assertThrows(IllegalArgumentException.class, () -> FxRates.of("EUR", nullKey, Instant.now()));
+        assertThrows(IllegalArgumentException.class, () -> FxRates.of("EUR", Map.of(" ", BigDecimal.ONE), Instant.now()));
+    }
+}
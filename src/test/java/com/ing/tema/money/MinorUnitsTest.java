@@ -0,0 +1,42 @@
+package com.ing.tema.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitsTest {
+
+    @Test
+    void fromBigDecimal_shouldRoundHalfUpToCents() {
+        assertEquals(129L, MinorUnits.fromBigDecimal(new BigDecimal("1.29")));
+        assertEquals(1050L, MinorUnits.fromBigDecimal(BigDecimal.valueOf(10.5)));
+        assertEquals(100L, MinorUnits.fromBigDecimal(new BigDecimal("0.995")));
+        assertEquals(-100L, MinorUnits.fromBigDecimal(new BigDecimal("-0.995")));
+    }
+
+    @Test
+    void fromBigDecimal_shouldRejectAmountsBeyondLongRange() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> MinorUnits.fromBigDecimal(new BigDecimal("99999999999999999999.99"))
+        );
+    }
+
+    @Test
+    void toBigDecimal_shouldAlwaysHaveScaleTwo() {
+        assertEquals(new BigDecimal("1.00"), MinorUnits.toBigDecimal(100L));
+        assertEquals(new BigDecimal("0.99"), MinorUnits.toBigDecimal(99L));
+    }
+
+    @Test
+    void money_shouldRoundTripAndRejectMixedCurrencies() {
+        Money eur = Money.of(new BigDecimal("1.295"), "EUR");
+
+        assertEquals(new Money(130L, "EUR"), eur);
+        assertEquals(new BigDecimal("1.30"), eur.toBigDecimal());
+        assertTrue(eur.compareTo(new Money(129L, "EUR")) > 0);
+        assertThrows(IllegalArgumentException.class, () -> eur.compareTo(new Money(130L, "USD")));
+    }
+}
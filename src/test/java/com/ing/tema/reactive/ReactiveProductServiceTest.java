@@ -0,0 +1,96 @@
+package com.ing.tema.reactive;
+
+import com.ing.tema.dtos.ChangePriceRequest;
+import com.ing.tema.dtos.CreateProductRequest;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.exceptions.DuplicateIdempotencyKeyException;
+import com.ing.tema.exceptions.ProductAlreadyExistsException;
+import com.ing.tema.exceptions.ProductNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductServiceTest {
+
+    @Mock
+    private ReactiveProductRepository productRepository;
+
+    @Mock
+    private ReactiveIdempotencyService idempotencyService;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @InjectMocks
+    private ReactiveProductService productService;
+
+    private final Principal admin = () -> "admin";
+
+    @BeforeEach
+    void passThroughTransactions() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createProduct_shouldInsert_whenSkuIsNew() {
+        CreateProductRequest request = new CreateProductRequest("SKU-1", "Product", new BigDecimal("10.50"), "EUR", null);
+        ProductResponse created = new ProductResponse(100L, "SKU-1", "Product", new BigDecimal("10.50"), "EUR", null);
+        when(idempotencyService.registerOrThrow("idem-1", "admin", "POST", "/api/products")).thenReturn(Mono.empty());
+        when(productRepository.existsBySku("SKU-1")).thenReturn(Mono.just(false));
+        when(productRepository.insert(request)).thenReturn(Mono.just(created));
+
+        ProductResponse response = productService.createProduct(request, "idem-1", admin, "/api/products").block();
+
+        assertEquals(created, response);
+    }
+
+    @Test
+    void createProduct_shouldFail_whenSkuExists() {
+        CreateProductRequest request = new CreateProductRequest("SKU-1", "Product", BigDecimal.TEN, "EUR", null);
+        when(idempotencyService.registerOrThrow("idem-1", "admin", "POST", "/api/products")).thenReturn(Mono.empty());
+        when(productRepository.existsBySku("SKU-1")).thenReturn(Mono.just(true));
+
+        Mono<ProductResponse> result = productService.createProduct(request, "idem-1", admin, "/api/products");
+
+        assertThrows(ProductAlreadyExistsException.class, result::block);
+        verify(productRepository, never()).insert(any());
+    }
+
+    @Test
+    void changePrice_shouldNotTouchProduct_whenIdempotencyKeyReused() {
+        when(idempotencyService.registerOrThrow("idem-1", "admin", "PUT", "/api/products/1/price"))
+                .thenReturn(Mono.error(new DuplicateIdempotencyKeyException("idem-1")));
+        when(productRepository.findById(1L)).thenReturn(Mono.empty());
+
+        Mono<ProductResponse> result = productService.changePrice(
+                1L, new ChangePriceRequest(BigDecimal.ONE), "idem-1", admin, "/api/products/1/price");
+
+        assertThrows(DuplicateIdempotencyKeyException.class, result::block);
+        verify(productRepository, never()).updatePrice(any(), any());
+    }
+
+    @Test
+    void deleteProduct_shouldFail_whenProductMissing() {
+        when(idempotencyService.registerOrThrow("idem-1", "admin", "DELETE", "/api/products/1")).thenReturn(Mono.empty());
+        when(productRepository.findById(1L)).thenReturn(Mono.empty());
+
+        Mono<Void> result = productService.deleteProduct(1L, "idem-1", admin, "/api/products/1");
+
+        assertThrows(ProductNotFoundException.class, result::block);
+        verify(productRepository, never()).deleteById(any());
+    }
+}
@@ -0,0 +1,88 @@
+package com.ing.tema.security;
+
+import com.ing.tema.configuration.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Group auth = new RateLimitProperties.Group();
+        auth.setName("auth");
+        auth.setPaths(List.of("/api/auth/**"));
+        auth.setKey(RateLimitProperties.KeyType.IP);
+        auth.setCapacity(2);
+        auth.setRefillTokens(1);
+        auth.setRefillPeriod(Duration.ofSeconds(10));
+
+        RateLimitProperties.Group catalog = new RateLimitProperties.Group();
+        catalog.setName("catalog");
+        catalog.setPaths(List.of("/api/products"));
+        catalog.setMethods(List.of("get"));
+        catalog.setCapacity(1);
+        catalog.setRefillTokens(1);
+        catalog.setRefillPeriod(Duration.ofSeconds(1));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setGroups(List.of(auth, catalog));
+        rateLimiter = new RateLimiter(properties, clock::get);
+    }
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenReportWaitUntilRefill() {
+        assertEquals(0, rateLimiter.tryAcquire("POST", "/api/auth/token", null, "10.0.0.1"));
+        assertEquals(0, rateLimiter.tryAcquire("POST", "/api/auth/token", null, "10.0.0.1"));
+
+        long wait = rateLimiter.tryAcquire("POST", "/api/auth/token", null, "10.0.0.1");
+        assertEquals(TimeUnit.SECONDS.toNanos(10), wait);
+
+        clock.addAndGet(wait);
+        assertEquals(0, rateLimiter.tryAcquire("POST", "/api/auth/token", null, "10.0.0.1"));
+    }
+
+    @Test
+    void tryAcquire_shouldKeySeparatelyByPrincipalAndIp() {
+        assertEquals(0, rateLimiter.tryAcquire("GET", "/api/products", "alice", "10.0.0.1"));
+        assertTrue(rateLimiter.tryAcquire("GET", "/api/products", "alice", "10.0.0.2") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("GET", "/api/products", "bob", "10.0.0.1"));
+
+        // auth group is keyed by IP even for authenticated callers
+        assertEquals(0, rateLimiter.tryAcquire("POST", "/api/auth/token", "alice", "10.0.0.3"));
+        assertEquals(0, rateLimiter.tryAcquire("POST", "/api/auth/token", "bob", "10.0.0.3"));
+        assertTrue(rateLimiter.tryAcquire("POST", "/api/auth/token", "carol", "10.0.0.3") > 0);
+    }
+
+    @Test
+    void tryAcquire_shouldIgnoreRequestsOutsideAnyGroup() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("POST", "/api/products", "alice", "10.0.0.1"));
+            assertEquals(0, rateLimiter.tryAcquire("GET", "/api/products/1", "alice", "10.0.0.1"));
+        }
+        assertEquals(0, rateLimiter.bucketCount());
+    }
+
+    @Test
+    void evictIdleBuckets_shouldDropBucketsThatStayedFull() {
+        rateLimiter.tryAcquire("GET", "/api/products", "alice", "10.0.0.1");
+        rateLimiter.tryAcquire("GET", "/api/products", "bob", "10.0.0.1");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        rateLimiter.tryAcquire("GET", "/api/products", "bob", "10.0.0.1");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(40));
+        rateLimiter.evictIdleBuckets();
+
+        assertEquals(1, rateLimiter.bucketCount());
+    }
+}
@@ -0,0 +1,125 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.CatalogExportProperties;
+import com.ing.tema.services.CatalogExportService.Format;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private JdbcTemplate jdbcTemplate;
+    private CatalogExportService exportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:export_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // without the changelog's sample products
+        jdbcTemplate.update("delete from products");
+        CatalogExportProperties properties = new CatalogExportProperties();
+        properties.setFetchSize(2);
+        exportService = new CatalogExportService(dataSource, new DataSourceTransactionManager(dataSource),
+                objectMapper, properties);
+    }
+
+    private void insert(long id, String sku, String name, String price, String description) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("insert into products (id, sku, name, price, currency, description, created_at, updated_at) "
+                + "values (?, ?, ?, ?, 'EUR', ?, ?, ?)", id, sku, name, new BigDecimal(price), description, now, now);
+    }
+
+    private String export(Format format, boolean gzip) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(format, gzip, out);
+        byte[] bytes = out.toByteArray();
+        if (gzip) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void csv_shouldWriteHeaderAndRowsInIdOrder() throws Exception {
+        insert(2, "SKU-2", "Second", "5.00", null);
+        insert(1, "SKU-1", "First", "10.50", "plain");
+
+        String csv = export(Format.CSV, false);
+
+        assertEquals(CatalogExportService.CSV_HEADER + "\r\n"
+                + "1,SKU-1,First,10.50,EUR,plain\r\n"
+                + "2,SKU-2,Second,5.00,EUR,\r\n", csv);
+    }
+
+    @Test
+    void csv_shouldQuoteFieldsWithSeparatorsQuotesAndLineBreaks() throws Exception {
+        insert(1, "SKU-1", "Chair, oak", "10.00", "the \"best\"\nchair");
+
+        String row = export(Format.CSV, false).split("\r\n", 2)[1];
+
+        assertEquals("1,SKU-1,\"Chair, oak\",10.00,EUR,\"the \"\"best\"\"\nchair\"\r\n", row);
+    }
+
+    @Test
+    void ndjson_shouldWriteOneObjectPerLine() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            insert(i, "SKU-" + i, "Product " + i, i + ".99", i % 2 == 0 ? null : "d" + i);
+        }
+
+        List<String> lines = export(Format.NDJSON, false).lines().toList();
+
+        assertEquals(5, lines.size());
+        for (int i = 1; i <= 5; i++) {
+            JsonNode product = objectMapper.readTree(lines.get(i - 1));
+            assertEquals(i, product.path("id").asLong());
+            assertEquals("SKU-" + i, product.path("sku").asText());
+            assertEquals(0, new BigDecimal(i + ".99").compareTo(product.path("price").decimalValue()));
+            assertEquals(i % 2 == 0, product.path("description").isNull());
+        }
+    }
+
+    @Test
+    void gzip_shouldRoundTripToSameContent() throws Exception {
+        insert(1, "SKU-1", "First", "10.50", "plain");
+
+        assertEquals(export(Format.NDJSON, false), export(Format.NDJSON, true));
+        assertEquals(export(Format.CSV, false), export(Format.CSV, true));
+    }
+
+    @Test
+    void emptyCatalog_shouldExportHeaderOnly() throws Exception {
+        assertEquals(CatalogExportService.CSV_HEADER + "\r\n", export(Format.CSV, false));
+        assertEquals("", export(Format.NDJSON, false));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ing.tema.services;
+
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.entities.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogFileCodecTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Product product(Long id, String sku, BigDecimal price, String description, Instant updatedAt) {
+        Product product = new Product(sku, "Name " + id, price, "EUR", description);
+        product.setId(id);
+        product.setUpdatedAt(updatedAt);
+        return product;
+    }
+
+
+    @Test
+    void write_thenRead_shouldRoundTripProductsAndWatermark() throws IOException {
+        Path file = tempDir.resolve("catalog.bin");
+        Instant older = Instant.parse("2025-01-01T10:00:00Z");
+        Instant newer = Instant.parse("2025-01-02T10:00:00Z");
+
+        Instant watermark = CatalogFileCodec.write(file, List.of(
+                product(1L, "SKU-APPLE-001", new BigDecimal("1.29"), "Fresh red apple", older),
+                product(2L, "SKU-ÄPFEL-002", new BigDecimal("1234567.90"), null, newer)
+        ));
+
+        CatalogFileCodec.Snapshot snapshot = CatalogFileCodec.read(file);
+
+        assertEquals(newer, watermark);
+        assertEquals(newer, snapshot.watermark());
+        assertEquals(
+                List.of(
+                        new ProductResponse(1L, "SKU-APPLE-001", "Name 1", new BigDecimal("1.29"), "EUR", "Fresh red apple"),
+                        new ProductResponse(2L, "SKU-ÄPFEL-002", "Name 2", new BigDecimal("1234567.90"), "EUR", null)
+                ),
+                snapshot.products()
+        );
+    }
+
+    @Test
+    void read_shouldRejectForeignFile() throws IOException {
+        Path file = tempDir.resolve("not-a-catalog.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> CatalogFileCodec.read(file));
+    }
+}
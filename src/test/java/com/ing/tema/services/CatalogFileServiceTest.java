@@ -0,0 +1,57 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.CatalogFileProperties;
+import com.ing.tema.configuration.ResponseCacheProperties;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.entities.Product;
+import com.ing.tema.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogFileServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Product product(Long id, String name, Instant updatedAt) {
+        Product product = new Product("SKU-" + id, name, new BigDecimal("1.00"), "EUR", null);
+        product.setId(id);
+        product.setUpdatedAt(updatedAt);
+        return product;
+    }
+
+    @Test
+    void startup_shouldReReadRowsCommittedLateWithOlderUpdatedAt() throws Exception {
+        Instant watermark = Instant.parse("2025-01-01T10:00:00Z");
+        Path file = tempDir.resolve("catalog.bin");
+        CatalogFileCodec.write(file, List.of(product(1L, "Exported", watermark)));
+
+        // written by a transaction that was still open during the export
+        Product lateCommit = product(1L, "Committed late", watermark.minusSeconds(30));
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.findByUpdatedAtAfter(watermark.minus(Duration.ofMinutes(2)))).thenReturn(List.of(lateCommit));
+        when(repository.findAllIds()).thenReturn(List.of(1L));
+
+        CatalogFileProperties properties = new CatalogFileProperties();
+        properties.setPath(file);
+        properties.setCatchUpMargin(Duration.ofMinutes(2));
+        ProductResponseCache cache = new ProductResponseCache(new ObjectMapper(), new ResponseCacheProperties());
+
+        new CatalogFileService(properties, repository, cache, mock(PlatformTransactionManager.class))
+                .afterSingletonsInstantiated();
+
+        ProductResponse cached = cache.getProduct(1L, () -> fail("should be served from the warmed cache"));
+        assertEquals("Committed late", cached.name());
+    }
+}
@@ -0,0 +1,378 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.CatalogExportProperties;
+import com.ing.tema.configuration.CatalogImportProperties;
+import com.ing.tema.dtos.CatalogImportResponse;
+import com.ing.tema.entities.Product;
+import com.ing.tema.events.AuditedActionEvent;
+import com.ing.tema.events.AuditedActionEvent.Action;
+import com.ing.tema.events.ProductBatchChangedEvent;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.events.ProductChangedEvent.ChangeType;
+import com.ing.tema.exceptions.CatalogImportInProgressException;
+import com.ing.tema.exceptions.CatalogImportNotFoundException;
+import com.ing.tema.exceptions.MalformedCatalogImportException;
+import com.ing.tema.repositories.CatalogImportRepository;
+import com.ing.tema.services.CatalogExportService.Format;
+import jakarta.persistence.EntityManagerFactory;
+import liquibase.integration.spring.SpringLiquibase;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CatalogImportServiceTest {
+
+    private static final String OWNER = "admin";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private Cache hibernateCache;
+    private CatalogImportService importService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:import_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // without the changelog's sample products
+        jdbcTemplate.update("delete from products");
+
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        hibernateCache = mock(Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        jakarta.persistence.Cache jpaCache = mock(jakarta.persistence.Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        when(jpaCache.unwrap(Cache.class)).thenReturn(hibernateCache);
+
+        CatalogImportProperties properties = new CatalogImportProperties();
+        properties.setChunkSize(2);
+        importService = new CatalogImportService(new CatalogImportRepository(jdbcTemplate), eventPublisher,
+                entityManagerFactory, new DataSourceTransactionManager(dataSource), objectMapper, properties);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Object> product(String sku) {
+        return jdbcTemplate.queryForMap("select id, name, price, currency, description from products where sku = ?", sku);
+    }
+
+    private long productCount() {
+        return jdbcTemplate.queryForObject("select count(*) from products", Long.class);
+    }
+
+    private <T> List<T> published(Class<T> type) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeast(0)).publishEvent(captor.capture());
+        return captor.getAllValues().stream().filter(type::isInstance).map(type::cast).toList();
+    }
+
+    private List<ProductBatchChangedEvent> publishedBatches() {
+        return published(ProductBatchChangedEvent.class);
+    }
+
+    private List<Action> auditedActions() {
+        return published(AuditedActionEvent.class).stream().map(AuditedActionEvent::action).toList();
+    }
+
+    private List<ProductChangedEvent> publishedEvents() {
+        return publishedBatches().stream().flatMap(batch -> batch.changes().stream()).toList();
+    }
+
+    @Test
+    void csv_shouldInsertNewProductsInChunks() throws Exception {
+        CatalogImportResponse response = importService.importCatalog(Format.CSV, body("""
+                sku,name,price,currency,description
+                SKU-1,First,10.5,EUR,plain
+                SKU-2,"Chair, oak",5.00,EUR,
+                SKU-3,Third,1.234,USD,"the ""best""\"
+                """), "csv-1", OWNER);
+
+        assertEquals("COMPLETED", response.status());
+        assertEquals(3, response.rowsCommitted());
+        assertEquals(3, response.inserted());
+        assertEquals(0, response.rejected());
+        assertEquals(3, productCount());
+        assertEquals("Chair, oak", product("SKU-2").get("NAME"));
+        assertNull(product("SKU-2").get("DESCRIPTION"));
+        assertEquals("the \"best\"", product("SKU-3").get("DESCRIPTION"));
+        assertEquals(0, new BigDecimal("1.23").compareTo((BigDecimal) product("SKU-3").get("PRICE")));
+        assertEquals(3, publishedEvents().stream().filter(e -> e.type() == ChangeType.CREATED).count());
+        // one event per chunk of two rows
+        assertEquals(2, publishedBatches().size());
+        assertEquals(OWNER, publishedBatches().get(0).actor().principal());
+    }
+
+    @Test
+    void inserts_shouldTakeIdsFromProductSequence() throws Exception {
+        importService.importCatalog(Format.NDJSON, body("""
+                {"sku":"SKU-1","name":"First","price":1,"currency":"EUR"}
+                {"sku":"SKU-2","name":"Second","price":2,"currency":"EUR"}
+                """), "ids", OWNER);
+
+        long first = ((Number) product("SKU-1").get("ID")).longValue();
+        long second = ((Number) product("SKU-2").get("ID")).longValue();
+        assertEquals(first + 1, second);
+
+        // the next block Hibernate draws starts beyond the ids used here
+        long nextBlock = jdbcTemplate.queryForObject("select nextval('products_seq')", Long.class);
+        assertTrue(nextBlock - 50 >= second);
+    }
+
+    @Test
+    void ndjson_shouldUpdateExistingProductsBySku() throws Exception {
+        importService.importCatalog(Format.NDJSON, body("""
+                {"sku":"SKU-1","name":"First","price":10.00,"currency":"EUR"}
+                {"sku":"SKU-2","name":"Second","price":5.00,"currency":"EUR"}
+                {"sku":"SKU-3","name":"Third","price":7.00,"currency":"EUR"}
+                """), "first", OWNER);
+        long id = ((Number) product("SKU-1").get("ID")).longValue();
+        reset(eventPublisher);
+
+        CatalogImportResponse response = importService.importCatalog(Format.NDJSON, body("""
+                {"sku":"SKU-1","name":"First","price":12.00,"currency":"EUR"}
+                {"sku":"SKU-2","name":"Renamed","price":5.00,"currency":"EUR"}
+                {"sku":"SKU-3","name":"Third","price":7,"currency":"EUR"}
+                """), "second", OWNER);
+
+        assertEquals(0, response.inserted());
+        assertEquals(2, response.updated());
+        assertEquals(1, response.unchanged());
+        assertEquals(id, ((Number) product("SKU-1").get("ID")).longValue());
+        assertEquals(0, new BigDecimal("12.00").compareTo((BigDecimal) product("SKU-1").get("PRICE")));
+        assertEquals("Renamed", product("SKU-2").get("NAME"));
+
+        List<ProductChangedEvent> events = publishedEvents();
+        assertEquals(List.of(ChangeType.PRICE_CHANGED, ChangeType.UPDATED),
+                events.stream().map(ProductChangedEvent::type).toList());
+        // before the commit and again after it, ahead of the event listeners
+        verify(hibernateCache, times(2)).evictEntityData(Product.class, id);
+    }
+
+    @Test
+    void updatedProducts_shouldBeEvictedBeforeAfterCommitListenersRun() throws Exception {
+        importService.importCatalog(Format.NDJSON, body("""
+                {"sku":"SKU-1","name":"First","price":10.00,"currency":"EUR"}
+                """), "seed", OWNER);
+
+        List<String> calls = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            // what an AFTER_COMMIT @TransactionalEventListener registers
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    calls.add("listener");
+                }
+            });
+            return null;
+        }).when(eventPublisher).publishEvent(any(ProductBatchChangedEvent.class));
+        doAnswer(invocation -> calls.add("evict")).when(hibernateCache).evictEntityData(eq(Product.class), any());
+
+        importService.importCatalog(Format.NDJSON, body("""
+                {"sku":"SKU-1","name":"First","price":12.00,"currency":"EUR"}
+                """), "reprice", OWNER);
+
+        assertEquals(List.of("evict", "evict", "listener"), calls);
+    }
+
+    @Test
+    void repeatedSkuInChunk_shouldApplyLastValues() throws Exception {
+        CatalogImportResponse response = importService.importCatalog(Format.NDJSON, body("""
+                {"sku":"SKU-1","name":"Old","price":1,"currency":"EUR"}
+                {"sku":"SKU-1","name":"New","price":2,"currency":"EUR"}
+                """), "dup", OWNER);
+
+        assertEquals(2, response.rowsCommitted());
+        assertEquals(1, response.inserted());
+        assertEquals(1, productCount());
+        assertEquals("New", product("SKU-1").get("NAME"));
+    }
+
+    @Test
+    void invalidRows_shouldBeRejectedAndReported() throws Exception {
+        CatalogImportResponse response = importService.importCatalog(Format.NDJSON, body("""
+                {"sku":"SKU-1","name":"Ok","price":1,"currency":"EUR","id":99,"extra":true}
+                {"sku":"SKU-2","name":"Negative","price":-1,"currency":"EUR"}
+                {"name":"No sku","price":1,"currency":"EUR"}
+                {"sku":"SKU-4","name":"Bad currency","price":1,"currency":"euro"}
+                {"sku":"SKU-5","name":{"nested":true},"price":1,"currency":"EUR"}
+                """), "invalid", OWNER);
+
+        assertEquals("COMPLETED", response.status());
+        assertEquals(5, response.rowsCommitted());
+        assertEquals(1, response.inserted());
+        assertEquals(4, response.rejected());
+        assertEquals(List.of(
+                "record 2 (SKU-2): price must not be negative",
+                "record 3: sku is required",
+                "record 4 (SKU-4): currency must be a three-letter ISO code",
+                "record 5 (SKU-5): name must be a scalar value"
+        ), response.errors());
+        assertEquals(1, productCount());
+    }
+
+    @Test
+    void malformedInput_shouldKeepCommittedChunksAndResume() throws Exception {
+        String goodRows = """
+                {"sku":"SKU-1","name":"First","price":1,"currency":"EUR"}
+                {"sku":"SKU-2","name":"Second","price":2,"currency":"EUR"}
+                {"sku":"SKU-3","name":"Third","price":3,"currency":"EUR"}
+                """;
+
+        MalformedCatalogImportException ex = assertThrows(MalformedCatalogImportException.class,
+                () -> importService.importCatalog(Format.NDJSON, body(goodRows + "{\"sku\":"), "resume", OWNER));
+        assertTrue(ex.getMessage().contains("resume"));
+
+        // the first chunk committed, the second was cut off with the input
+        CatalogImportResponse failed = importService.getImport("resume", OWNER);
+        assertEquals("FAILED", failed.status());
+        assertEquals(2, failed.rowsCommitted());
+        assertNotNull(failed.lastError());
+        assertEquals(2, productCount());
+        assertEquals(List.of(Action.IMPORT_STARTED, Action.IMPORT_FAILED), auditedActions());
+        reset(eventPublisher);
+
+        CatalogImportResponse resumed = importService.importCatalog(Format.NDJSON, body(goodRows + """
+                {"sku":"SKU-4","name":"Fourth","price":4,"currency":"EUR"}
+                """), "resume", OWNER);
+
+        assertEquals("COMPLETED", resumed.status());
+        assertEquals(4, resumed.rowsCommitted());
+        assertEquals(4, resumed.inserted());
+        assertNull(resumed.lastError());
+        assertEquals(4, productCount());
+        assertEquals(List.of(Action.IMPORT_RESUMED, Action.IMPORT_COMPLETED), auditedActions());
+        assertEquals("resume", published(AuditedActionEvent.class).get(0).actor().idempotencyKey());
+    }
+
+    @Test
+    void brokenUpload_shouldResumeAfterCommittedRows() throws Exception {
+        InputStream broken = new SequenceInputStream(body("""
+                sku,name,price,currency,description
+                SKU-1,First,1,EUR,
+                SKU-2,Second,2,EUR,
+                SKU-3,Third,3,EUR,
+                """), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+
+        assertThrows(IOException.class, () -> importService.importCatalog(Format.CSV, broken, "upload", OWNER));
+        assertEquals(2, importService.getImport("upload", OWNER).rowsCommitted());
+
+        CatalogImportResponse resumed = importService.importCatalog(Format.CSV, body("""
+                sku,name,price,currency,description
+                SKU-1,First,1,EUR,
+                SKU-2,Second,2,EUR,
+                SKU-3,Third,3,EUR,
+                """), "upload", OWNER);
+
+        assertEquals(3, resumed.rowsCommitted());
+        assertEquals(3, resumed.inserted());
+        assertEquals(3, productCount());
+    }
+
+    @Test
+    void completedImport_shouldNotBeAppliedTwice() throws Exception {
+        String rows = """
+                {"sku":"SKU-1","name":"First","price":1,"currency":"EUR"}
+                """;
+        importService.importCatalog(Format.NDJSON, body(rows), "once", OWNER);
+        jdbcTemplate.update("update products set name = 'Edited' where sku = 'SKU-1'");
+        reset(eventPublisher);
+
+        CatalogImportResponse again = importService.importCatalog(Format.NDJSON, body(rows), "once", OWNER);
+
+        assertEquals("COMPLETED", again.status());
+        assertEquals(1, again.inserted());
+        assertEquals("Edited", product("SKU-1").get("NAME"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void runningImport_shouldRejectConcurrentUpload() {
+        jdbcTemplate.update("insert into catalog_imports (owner, import_key, format, status, rows_committed, inserted, "
+                + "updated, unchanged, rejected, created_at, updated_at) "
+                + "values (?, 'busy', 'NDJSON', 'RUNNING', 0, 0, 0, 0, 0, current_timestamp, current_timestamp)", OWNER);
+
+        assertThrows(CatalogImportInProgressException.class,
+                () -> importService.importCatalog(Format.NDJSON, body(""), "busy", OWNER));
+    }
+
+    @Test
+    void formatMismatch_shouldBeRejected() throws Exception {
+        importService.importCatalog(Format.NDJSON, body(""), "format", OWNER);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importCatalog(Format.CSV, body("sku\n"), "format", OWNER));
+    }
+
+    @Test
+    void imports_shouldBeScopedToOwner() throws Exception {
+        importService.importCatalog(Format.NDJSON, body(""), "mine", OWNER);
+
+        assertThrows(CatalogImportNotFoundException.class, () -> importService.getImport("mine", "someone-else"));
+    }
+
+    @Test
+    void export_shouldImportBackUnchanged() throws Exception {
+        importService.importCatalog(Format.NDJSON, body("""
+                {"sku":"SKU-1","name":"Chair, oak","price":10.5,"currency":"EUR","description":"the \\"best\\"\\nchair"}
+                {"sku":"SKU-2","name":"Second","price":5,"currency":"USD"}
+                {"sku":"SKU-3","name":"Third","price":7.25,"currency":"EUR","description":"plain"}
+                """), "seed", OWNER);
+
+        CatalogExportService exportService = new CatalogExportService(dataSource,
+                new DataSourceTransactionManager(dataSource), objectMapper, new CatalogExportProperties());
+        for (Format format : Format.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            exportService.export(format, false, out);
+
+            CatalogImportResponse response = importService.importCatalog(format,
+                    new ByteArrayInputStream(out.toByteArray()), "round-trip-" + format, OWNER);
+
+            assertEquals(3, response.unchanged(), format.name());
+            assertEquals(0, response.rejected(), format.name());
+        }
+        assertEquals(3, productCount());
+    }
+}
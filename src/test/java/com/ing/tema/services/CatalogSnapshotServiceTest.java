@@ -0,0 +1,69 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.ResponseCacheProperties;
+import com.ing.tema.dtos.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotServiceTest {
+
+    private ProductResponseCache responseCache;
+    private TaskScheduler taskScheduler;
+    private CatalogSnapshotService service;
+    private List<ProductResponse> catalog;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ProductResponseCache(new ObjectMapper(), new ResponseCacheProperties());
+        catalog = responseCache.getCatalog(() -> LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> new ProductResponse(id, "SKU-" + id, "Product " + id, BigDecimal.TEN, "EUR", null))
+                .toList());
+
+        ProductService productService = mock(ProductService.class);
+        when(productService.listProducts()).thenReturn(catalog);
+        taskScheduler = mock(TaskScheduler.class);
+        service = new CatalogSnapshotService(productService, responseCache, taskScheduler,
+                Duration.ofMillis(500), DataSize.ofBytes(64));
+    }
+
+    @Test
+    void gzipFor_shouldServeUncompressedAndBuildOnceInBackground() throws Exception {
+        assertNull(service.gzipFor(catalog));
+        assertNull(service.gzipFor(catalog));
+
+        ArgumentCaptor<Runnable> build = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(build.capture(), any(Instant.class));
+        build.getValue().run();
+
+        byte[] gzip = service.gzipFor(catalog);
+        assertNotNull(gzip);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(responseCache.jsonFor(catalog), in.readAllBytes());
+        }
+        verifyNoMoreInteractions(taskScheduler);
+    }
+
+    @Test
+    void gzipFor_shouldIgnoreBodiesThatAreNotTheCachedCatalog() {
+        assertNull(service.gzipFor(List.copyOf(catalog)));
+        assertNull(service.gzipFor(catalog.get(0)));
+
+        verifyNoInteractions(taskScheduler);
+    }
+}
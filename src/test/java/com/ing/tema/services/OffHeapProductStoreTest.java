@@ -0,0 +1,88 @@
+package com.ing.tema.services;
+
+import com.ing.tema.configuration.OffHeapStoreProperties;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapProductStoreTest {
+
+    private OffHeapProductStore store;
+
+    @BeforeEach
+    void setUp() {
+        OffHeapStoreProperties properties = new OffHeapStoreProperties();
+        properties.setEnabled(true);
+        properties.setMaxProducts(64);
+        properties.setStringArenaSize(DataSize.ofKilobytes(64));
+
+        store = new OffHeapProductStore(properties, null, null);
+    }
+
+    private ProductResponse product(long id, String sku, String price) {
+        return new ProductResponse(id, sku, "Product " + id, new BigDecimal(price), "EUR", "Description " + id);
+    }
+
+
+    @Test
+    void put_shouldMakeProductFindableByIdAndSku() {
+        ProductResponse apple = product(1L, "SKU-APPLE-001", "1.29");
+
+        assertTrue(store.put(apple));
+
+        assertEquals(apple, store.findById(1L));
+        assertEquals(apple, store.findBySku("SKU-APPLE-001"));
+        assertNull(store.findById(2L));
+        assertNull(store.findBySku("SKU-MISSING"));
+    }
+
+    @Test
+    void onProductChanged_shouldApplyPriceChangeInPlace() {
+        ProductResponse before = product(1L, "SKU-APPLE-001", "1.29");
+        ProductResponse after = product(1L, "SKU-APPLE-001", "1.49");
+        store.put(before);
+
+        store.onProductChanged(ProductChangedEvent.priceChanged(before, after));
+
+        assertEquals(after, store.findById(1L));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void remove_shouldKeepOtherProductsReachable() {
+        for (long id = 1; id <= 40; id++) {
+            store.put(product(id, "SKU-" + id, "1.00"));
+        }
+
+        for (long id = 1; id <= 40; id += 2) {
+            store.remove(id);
+        }
+
+        assertEquals(20, store.size());
+        for (long id = 1; id <= 40; id++) {
+            if (id % 2 == 1) {
+                assertNull(store.findById(id));
+                assertNull(store.findBySku("SKU-" + id));
+            } else {
+                assertEquals(id, store.findById(id).id());
+                assertEquals(id, store.findBySku("SKU-" + id).id());
+            }
+        }
+    }
+
+    @Test
+    void put_shouldRefuse_whenCapacityExhausted() {
+        for (long id = 1; id <= 64; id++) {
+            assertTrue(store.put(product(id, "SKU-" + id, "1.00")));
+        }
+
+        assertFalse(store.put(product(65L, "SKU-65", "1.00")));
+        assertNull(store.findById(65L));
+    }
+}
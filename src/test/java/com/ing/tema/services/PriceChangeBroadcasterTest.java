@@ -0,0 +1,109 @@
+package com.ing.tema.services;
+
+import com.ing.tema.configuration.PriceStreamProperties;
+import com.ing.tema.dtos.PriceChangeEvent;
+import com.ing.tema.exceptions.PriceStreamUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PriceChangeBroadcasterTest {
+
+    private PriceStreamProperties properties;
+    private ExecutorService deliveryExecutor;
+    private PriceChangeBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PriceStreamProperties();
+        properties.setBufferSize(1);
+        properties.setMaxSubscribers(2);
+
+        // never runs the drain task, so every subscriber behaves like a stalled client
+        deliveryExecutor = mock(ExecutorService.class);
+        broadcaster = new PriceChangeBroadcaster(properties, deliveryExecutor);
+    }
+
+    private PriceChangeEvent event(Long id, String sku) {
+        return new PriceChangeEvent(id, sku, BigDecimal.ONE, BigDecimal.TEN, "EUR", Instant.now());
+    }
+
+
+    @Test
+    void publish_shouldOnlyScheduleDeliveryForMatchingSubscribers() {
+        broadcaster.subscribe("SKU-APPLE", null);
+
+        broadcaster.publish(event(2L, "SKU-BANANA-001"));
+        verify(deliveryExecutor, never()).execute(any());
+
+        broadcaster.publish(event(1L, "SKU-APPLE-001"));
+        verify(deliveryExecutor).execute(any());
+    }
+
+    @Test
+    void publish_shouldFilterByIds() {
+        broadcaster.subscribe(null, Set.of(3L));
+
+        broadcaster.publish(event(1L, "SKU-APPLE-001"));
+        verify(deliveryExecutor, never()).execute(any());
+
+        broadcaster.publish(event(3L, "SKU-MILK-001"));
+        verify(deliveryExecutor).execute(any());
+    }
+
+    @Test
+    void publish_shouldKeepSlowSubscriber_whenDropOldestPolicy() {
+        properties.setOverflowPolicy(PriceStreamProperties.OverflowPolicy.DROP_OLDEST);
+        broadcaster.subscribe(null, null);
+
+        broadcaster.publish(event(1L, "SKU-1"));
+        broadcaster.publish(event(1L, "SKU-1"));
+        broadcaster.publish(event(1L, "SKU-1"));
+
+        assertEquals(1, broadcaster.subscriberCount());
+        verify(deliveryExecutor, times(1)).execute(any());
+    }
+
+    @Test
+    void publish_shouldDisconnectSlowSubscriber_whenDisconnectPolicy() {
+        properties.setOverflowPolicy(PriceStreamProperties.OverflowPolicy.DISCONNECT);
+        broadcaster.subscribe(null, null);
+
+        broadcaster.publish(event(1L, "SKU-1"));
+        broadcaster.publish(event(1L, "SKU-1"));
+
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void subscribe_shouldThrow_whenSubscriberLimitReached() {
+        broadcaster.subscribe(null, null);
+        broadcaster.subscribe(null, null);
+
+        assertThrows(
+                PriceStreamUnavailableException.class,
+                () -> broadcaster.subscribe(null, null)
+        );
+    }
+
+    @Test
+    void subscribe_shouldFreeSlotOnce_whenSubscriberIsDisconnected() {
+        properties.setOverflowPolicy(PriceStreamProperties.OverflowPolicy.DISCONNECT);
+        broadcaster.subscribe(null, null);
+        broadcaster.publish(event(1L, "SKU-1"));
+        broadcaster.publish(event(1L, "SKU-1"));
+        broadcaster.shutdown();
+
+        broadcaster.subscribe(null, null);
+        broadcaster.subscribe(null, null);
+        assertThrows(PriceStreamUnavailableException.class, () -> broadcaster.subscribe(null, null));
+    }
+}
@@ -0,0 +1,154 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.PriceStatisticsProperties;
+import com.ing.tema.configuration.ResponseCacheProperties;
+import com.ing.tema.dtos.CurrencyPriceStatistics;
+import com.ing.tema.dtos.PriceStatisticsResponse;
+import com.ing.tema.dtos.ProductResponse;
+import com.ing.tema.events.ProductChangedEvent;
+import com.ing.tema.repositories.PriceStatisticsRepository;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PriceStatisticsServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PriceStatisticsRepository statisticsRepository;
+    private ProductResponseCache responseCache;
+    private PriceStatisticsService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:statistics_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // without the changelog's sample products
+        jdbcTemplate.update("delete from products");
+
+        statisticsRepository = spy(new PriceStatisticsRepository(jdbcTemplate));
+        responseCache = new ProductResponseCache(new ObjectMapper(), new ResponseCacheProperties());
+
+        PriceStatisticsProperties properties = new PriceStatisticsProperties();
+        properties.setBandEdges(List.of(new BigDecimal("10"), new BigDecimal("100")));
+        service = new PriceStatisticsService(statisticsRepository, responseCache, properties);
+    }
+
+    private ProductResponse product(Long id, String price, String currency) {
+        return new ProductResponse(id, "SKU-" + id, "Product " + id, new BigDecimal(price), currency, null);
+    }
+
+    private void insert(long id, String price, String currency) {
+        jdbcTemplate.update("insert into products (id, sku, name, price, currency) values (?, ?, ?, ?, ?)",
+                id, "SKU-" + id, "Product " + id, new BigDecimal(price), currency);
+    }
+
+    @Test
+    void getStatistics_shouldAggregateInDatabaseWhenCatalogIsNotCached() {
+        insert(1L, "5.00", "EUR");
+        insert(2L, "5.00", "EUR");
+        insert(3L, "250.00", "EUR");
+        insert(4L, "19.99", "USD");
+
+        PriceStatisticsResponse response = service.getStatistics();
+
+        assertEquals(2, response.currencies().size());
+        CurrencyPriceStatistics eur = response.currencies().get(0);
+        assertEquals("EUR", eur.currency());
+        assertEquals(3, eur.count());
+        assertEquals(new BigDecimal("5.00"), eur.min());
+        assertEquals(new BigDecimal("250.00"), eur.max());
+        assertEquals(new BigDecimal("260.00"), eur.sum());
+        assertEquals(new BigDecimal("86.67"), eur.average());
+        assertEquals(List.of(2L, 0L, 1L), eur.histogram().stream().map(b -> b.count()).toList());
+        assertNull(eur.histogram().get(2).to());
+    }
+
+    @Test
+    void getStatistics_shouldUseCachedCatalogWhenLoaded() {
+        responseCache.getCatalog(() -> List.of(
+                product(1L, "10.00", "EUR"),
+                product(2L, "30.00", "EUR")
+        ));
+
+        CurrencyPriceStatistics eur = service.getStatistics().currencies().get(0);
+
+        assertEquals(2, eur.count());
+        assertEquals(new BigDecimal("20.00"), eur.average());
+        assertEquals(List.of(0L, 2L, 0L), eur.histogram().stream().map(b -> b.count()).toList());
+        verify(statisticsRepository, never()).aggregateByCurrency(any());
+    }
+
+    @Test
+    void onProductChanged_shouldApplyChangesThatKeepMinAndMaxKnown() {
+        insert(1L, "1.00", "EUR");
+        insert(2L, "5.00", "EUR");
+        insert(3L, "9.00", "EUR");
+        service.getStatistics();
+
+        service.onProductChanged(ProductChangedEvent.priceChanged(product(2L, "5.00", "EUR"), product(2L, "0.50", "EUR")));
+        service.onProductChanged(ProductChangedEvent.created(product(4L, "2.50", "USD")));
+
+        PriceStatisticsResponse response = service.getStatistics();
+        CurrencyPriceStatistics eur = response.currencies().get(0);
+        assertEquals(new BigDecimal("0.50"), eur.min());
+        assertEquals(new BigDecimal("9.00"), eur.max());
+        assertEquals(new BigDecimal("10.50"), eur.sum());
+        assertEquals("USD", response.currencies().get(1).currency());
+
+        service.onProductChanged(ProductChangedEvent.deleted(product(4L, "2.50", "USD")));
+
+        assertEquals(1, service.getStatistics().currencies().size());
+        verify(statisticsRepository, times(1)).aggregateByCurrency(any());
+    }
+
+    @Test
+    void onProductChanged_shouldRebuildWhenMinOrMaxIsTakenAway() {
+        insert(1L, "1.00", "EUR");
+        insert(2L, "9.00", "EUR");
+        service.getStatistics();
+
+        jdbcTemplate.update("update products set price = 5.00 where id = 1");
+        service.onProductChanged(ProductChangedEvent.priceChanged(product(1L, "1.00", "EUR"), product(1L, "5.00", "EUR")));
+
+        CurrencyPriceStatistics eur = service.getStatistics().currencies().get(0);
+        assertEquals(new BigDecimal("5.00"), eur.min());
+        assertEquals(new BigDecimal("9.00"), eur.max());
+        verify(statisticsRepository, times(2)).aggregateByCurrency(any());
+    }
+
+    @Test
+    void onProductChanged_shouldRebuildInsteadOfApplyingChangeThatOverlappedBuild() {
+        // committed before the counts were read, but its listener only runs after they are published
+        ProductResponse product = product(1L, "1.00", "EUR");
+        ProductChangedEvent created = new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED,
+                1L, product.sku(), null, product, Instant.now(), null);
+        insert(1L, "1.00", "EUR");
+        service.getStatistics();
+
+        service.onProductChanged(created);
+
+        assertEquals(1, service.getStatistics().currencies().get(0).count());
+        verify(statisticsRepository, times(2)).aggregateByCurrency(any());
+    }
+}
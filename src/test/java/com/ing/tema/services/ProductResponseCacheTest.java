@@ -0,0 +1,81 @@
+package com.ing.tema.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.ResponseCacheProperties;
+import com.ing.tema.dtos.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductResponseCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private ProductResponseCache cache(long maxEntries) {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntries(maxEntries);
+        properties.setTimeToLive(Duration.ofMinutes(10));
+        // maintenance on the calling thread keeps size eviction deterministic
+        return new ProductResponseCache(new ObjectMapper(), properties, nanos::get, Runnable::run);
+    }
+
+    private static ProductResponse product(long id, String name) {
+        return new ProductResponse(id, "SKU-" + id, name, new BigDecimal("1.00"), "EUR", null);
+    }
+
+    @Test
+    void entries_shouldExpireAfterTimeToLive() {
+        ProductResponseCache cache = cache(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getProduct(1L, () -> product(loads.incrementAndGet(), "First"));
+        cache.getCatalog(() -> List.of(product(1, "First")));
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        cache.getProduct(1L, () -> product(loads.incrementAndGet(), "Reloaded"));
+        assertEquals(1, loads.get());
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertEquals("Reloaded", cache.getProduct(1L, () -> product(1, "Reloaded")).name());
+        assertNull(cache.cachedCatalog());
+        assertEquals("Reloaded", cache.getProductBySku("SKU-1", () -> product(1, "Reloaded")).name());
+    }
+
+    @Test
+    void entries_shouldBeBoundedByMaxEntries() {
+        ProductResponseCache cache = cache(10);
+
+        for (long id = 1; id <= 1_000; id++) {
+            long productId = id;
+            cache.getProduct(productId, () -> product(productId, "Product " + productId));
+        }
+
+        AtomicInteger reloads = new AtomicInteger();
+        for (long id = 1; id <= 1_000; id++) {
+            long productId = id;
+            cache.getProduct(productId, () -> {
+                reloads.incrementAndGet();
+                return product(productId, "Product " + productId);
+            });
+        }
+        assertTrue(reloads.get() >= 990, "reloads: " + reloads.get());
+    }
+
+    @Test
+    void load_racingAnEviction_shouldNotBeCached() {
+        ProductResponseCache cache = cache(100);
+
+        cache.getProduct(1L, () -> {
+            ProductResponse stale = product(1, "Stale");
+            cache.evict(1L, "SKU-1");
+            return stale;
+        });
+
+        assertEquals("Fresh", cache.getProduct(1L, () -> product(1, "Fresh")).name());
+    }
+}
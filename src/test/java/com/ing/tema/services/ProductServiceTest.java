@@ -1,18 +1,26 @@
 package com.ing.tema.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.tema.configuration.ResponseCacheProperties;
 import com.ing.tema.dtos.ChangePriceRequest;
 import com.ing.tema.dtos.CreateProductRequest;
 import com.ing.tema.dtos.ProductResponse;
 import com.ing.tema.entities.Product;
+import com.ing.tema.events.ProductChangedEvent;
 import com.ing.tema.exceptions.DuplicateIdempotencyKeyException;
 import com.ing.tema.exceptions.ProductAlreadyExistsException;
 import com.ing.tema.exceptions.ProductNotFoundException;
 import com.ing.tema.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.security.Principal;
@@ -31,6 +39,21 @@ class ProductServiceTest {
     @Mock
     private IdempotencyService idempotencyService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OffHeapProductStore offHeapStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ProductResponseCache responseCache = new ProductResponseCache(new ObjectMapper(), new ResponseCacheProperties());
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
     @InjectMocks
     private ProductService productService;
 
@@ -70,7 +93,7 @@ class ProductServiceTest {
         assertEquals(1L, response.id());
         assertEquals("SKU-123", response.sku());
         assertEquals("Test Product", response.name());
-        assertEquals(BigDecimal.valueOf(10.50), response.price());
+        assertEquals(new BigDecimal("10.50"), response.price());
         assertEquals("EUR", response.currency());
 
         verify(idempotencyService).registerOrThrow(idempotencyKey, "admin", "POST", path);
@@ -167,6 +190,41 @@ class ProductServiceTest {
     }
 
 
+    @Test
+    void getProductById_shouldServeCachedResponse_untilProductChanges() {
+        Product product = new Product("SKU-1", "Name", BigDecimal.ONE, "EUR", "Desc");
+        product.setId(42L);
+
+        when(productRepository.findById(42L)).thenReturn(Optional.of(product));
+
+        ProductResponse first = productService.getProductById(42L);
+        ProductResponse second = productService.getProductById(42L);
+
+        assertSame(first, second);
+        assertNotNull(responseCache.jsonFor(second));
+        verify(productRepository, times(1)).findById(42L);
+
+        responseCache.onProductChanged(ProductChangedEvent.priceChanged(first, first));
+        productService.getProductById(42L);
+
+        verify(productRepository, times(2)).findById(42L);
+    }
+
+
+    @Test
+    void getProductById_shouldFillResponseCacheFromOffHeapStore() {
+        ProductResponse stored = new ProductResponse(42L, "SKU-1", "Name", BigDecimal.ONE, "EUR", null);
+        when(offHeapStore.findById(42L)).thenReturn(stored);
+
+        ProductResponse first = productService.getProductById(42L);
+        ProductResponse second = productService.getProductById(42L);
+
+        assertSame(first, second);
+        assertNotNull(responseCache.jsonFor(second));
+        verify(offHeapStore, times(1)).findById(42L);
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     void getProductBySku_shouldReturnProduct_whenExists() {
         Product product = new Product("SKU-1", "Name", BigDecimal.ONE, "EUR", "Desc");
@@ -245,6 +303,12 @@ class ProductServiceTest {
         verify(idempotencyService).registerOrThrow(idempotencyKey, "admin", "PUT", path);
         verify(productRepository).findById(id);
         verify(productRepository).save(product);
+
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ProductChangedEvent.ChangeType.PRICE_CHANGED, event.getValue().type());
+        assertEquals(new BigDecimal("1.00"), event.getValue().before().price());
+        assertEquals(BigDecimal.valueOf(99.99), event.getValue().after().price());
     }
 
     @Test